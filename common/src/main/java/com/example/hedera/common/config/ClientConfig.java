@@ -1,29 +1,73 @@
 package com.example.hedera.common.config;
 
+import com.example.hedera.common.startup.NetworkSnapshotStore;
 import com.hedera.hashgraph.sdk.AccountId;
 import com.hedera.hashgraph.sdk.Client;
 import com.hedera.hashgraph.sdk.PrivateKey;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-@Configuration
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Configuration(proxyBeanMethods = false)
 public class ClientConfig {
 
     @Bean
     public Client client(@Value("${hedera.account-id}") String accountId,
-                         @Value("${hedera.private-key}") String privateKey) {
+                         @Value("${hedera.private-key}") String privateKey,
+                         @Value("${hedera.network:testnet}") String network,
+                         @Value("${hedera.local.node:127.0.0.1:50211}") String localNode,
+                         @Value("${hedera.local.node-account-id:0.0.3}") String localNodeAccountId,
+                         @Value("${hedera.local.mirror:127.0.0.1:5600}") String localMirror,
+                         NetworkSnapshotStore networkSnapshotStore,
+                         @Value("${hedera.startup.cache-max-age:7d}") Duration cacheMaxAge,
+                         @Value("${hedera.startup.min-health:0.2}") double minHealth)
+            throws TimeoutException, InterruptedException {
 
         // Operator account ID and private key from string value
         AccountId myAccountId = AccountId.fromString(accountId);
         PrivateKey myPrivateKey = PrivateKey.fromString(privateKey);
 
-        // Pre-configured client for test network (testnet)
-        Client client = Client.forTestnet();
+        // Pre-configured client for the selected network (testnet by default)
+        Client client = forNetwork(network, localNode, localNodeAccountId, localMirror);
+
+        // Replace the built-in node list with the last known address book, skipping unhealthy nodes
+        Map<String, AccountId> cachedNetwork = networkSnapshotStore.load(cacheMaxAge)
+                .map(snapshot -> snapshot.healthyNetwork(minHealth))
+                .orElse(Map.of());
+
+        if (!cachedNetwork.isEmpty()) {
+            client.setNetwork(cachedNetwork);
+            log.info("Using cached network of {} nodes", cachedNetwork.size());
+        }
 
         //Set the operator with the account ID and private key
         client.setOperator(myAccountId, myPrivateKey);
 
         return client;
     }
+
+    /**
+     * hedera.network 에 해당하는 Client 생성.
+     * <p>local 은 로컬 노드(hedera local node 등)를 사용하며 hedera.local.* 로 주소를 지정합니다.</p>
+     */
+    private Client forNetwork(String network,
+                              String localNode,
+                              String localNodeAccountId,
+                              String localMirror) throws InterruptedException {
+        return switch (network) {
+            case "testnet" -> Client.forTestnet();
+            case "mainnet" -> Client.forMainnet();
+            case "previewnet" -> Client.forPreviewnet();
+            case "local" -> Client.forNetwork(Map.of(localNode, AccountId.fromString(localNodeAccountId)))
+                    .setMirrorNetwork(List.of(localMirror));
+            default -> throw new IllegalArgumentException("Unknown hedera.network: " + network);
+        };
+    }
 }
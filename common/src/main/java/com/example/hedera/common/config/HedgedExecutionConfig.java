@@ -0,0 +1,39 @@
+package com.example.hedera.common.config;
+
+import com.example.hedera.common.core.HedgeBudget;
+import com.example.hedera.common.core.HedgedTransactionExecutor;
+import com.hedera.hashgraph.sdk.Client;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+@Configuration(proxyBeanMethods = false)
+public class HedgedExecutionConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService hedgeScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hedge-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * hedge.delay 는 precheck 응답 지연의 p90~p95 정도로 설정합니다.
+     * hedge.budget-ratio 는 일반 요청 대비 추가로 보낼 수 있는 hedged 요청 비율입니다.
+     */
+    @Bean
+    public HedgedTransactionExecutor hedgedTransactionExecutor(Client client,
+                                                               ScheduledExecutorService hedgeScheduler,
+                                                               @Value("${hedera.hedge.delay:300ms}") Duration hedgeDelay,
+                                                               @Value("${hedera.hedge.budget-ratio:0.1}") double budgetRatio,
+                                                               @Value("${hedera.hedge.max-burst:10}") double maxBurst) {
+
+        return new HedgedTransactionExecutor(client, hedgeDelay, new HedgeBudget(budgetRatio, maxBurst), hedgeScheduler);
+    }
+}
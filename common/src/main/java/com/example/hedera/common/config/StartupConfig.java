@@ -0,0 +1,52 @@
+package com.example.hedera.common.config;
+
+import com.example.hedera.common.startup.ChannelWarmup;
+import com.example.hedera.common.startup.NetworkSnapshot;
+import com.example.hedera.common.startup.NetworkSnapshotStore;
+import com.example.hedera.common.startup.StartupMetrics;
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.Client;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    @Bean
+    public NetworkSnapshotStore networkSnapshotStore(
+            @Value("${hedera.startup.cache-file:${java.io.tmpdir}/hedera-example/network-${hedera.network:testnet}.properties}") String cacheFile) {
+        return new NetworkSnapshotStore(Path.of(cacheFile));
+    }
+
+    @Bean
+    public StartupMetrics startupMetrics() {
+        return new StartupMetrics();
+    }
+
+    @Bean
+    public ChannelWarmup channelWarmup(Client client,
+                                       NetworkSnapshotStore networkSnapshotStore,
+                                       @Value("${hedera.startup.cache-max-age:7d}") Duration cacheMaxAge,
+                                       @Value("${hedera.startup.warmup.enabled:true}") boolean enabled,
+                                       @Value("${hedera.startup.warmup.max-nodes:8}") int maxNodes,
+                                       @Value("${hedera.startup.warmup.wait-timeout:3s}") Duration waitTimeout,
+                                       @Value("${hedera.startup.min-health:0.2}") double minHealth,
+                                       @Value("${hedera.startup.reprobe-interval:10m}") Duration reprobeInterval) {
+        Optional<NetworkSnapshot> snapshot = networkSnapshotStore.load(cacheMaxAge);
+
+        // 저장된 주소록이 없거나 만료되면 client 가 SDK 기본 주소록으로 생성되므로 그 시점에 주소록이 갱신된 것으로 봄
+        Map<String, AccountId> addressBook = snapshot.map(NetworkSnapshot::network).orElseGet(client::getNetwork);
+        Instant refreshedAt = snapshot.map(NetworkSnapshot::savedAt).orElseGet(Instant::now);
+        Map<AccountId, Double> healthScores = snapshot.map(NetworkSnapshot::healthScores).orElse(Map.of());
+
+        return new ChannelWarmup(client, networkSnapshotStore, addressBook, refreshedAt, healthScores,
+                enabled, maxNodes, waitTimeout, minHealth, reprobeInterval);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.hedera.common.core;
+
+/**
+ * hedged 요청 예산.
+ * <p>
+ * 일반 요청 1건마다 ratio 만큼 credit 이 쌓이고, hedged 요청 1건은 credit 1 을 사용합니다.
+ * 추가 부하는 일반 요청의 ratio 비율로 제한되며, 순간적으로는 maxCredits 건까지 허용됩니다.
+ */
+public class HedgeBudget {
+    private final double ratio;
+    private final double maxCredits;
+    private double credits;
+
+    /**
+     * @param ratio      일반 요청 대비 hedged 요청 최대 비율 (0 ~ 1)
+     * @param maxCredits 누적 가능한 최대 credit
+     */
+    public HedgeBudget(double ratio, double maxCredits) {
+        if (ratio < 0 || ratio > 1)
+            throw new IllegalArgumentException("ratio must be between 0 and 1");
+        if (maxCredits < 1)
+            throw new IllegalArgumentException("maxCredits must be at least 1");
+
+        this.ratio = ratio;
+        this.maxCredits = maxCredits;
+    }
+
+    public synchronized void onRequest() {
+        credits = Math.min(maxCredits, credits + ratio);
+    }
+
+    /**
+     * @return credit 을 사용하지 않고 hedged 요청이 가능한지 확인
+     */
+    public synchronized boolean hasCredit() {
+        return credits >= 1;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (credits < 1)
+            return false;
+
+        credits -= 1;
+        return true;
+    }
+}
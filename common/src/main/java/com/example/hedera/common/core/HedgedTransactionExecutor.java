@@ -0,0 +1,361 @@
+package com.example.hedera.common.core;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.PrecheckStatusException;
+import com.hedera.hashgraph.sdk.ReceiptStatusException;
+import com.hedera.hashgraph.sdk.Status;
+import com.hedera.hashgraph.sdk.Transaction;
+import com.hedera.hashgraph.sdk.TransactionId;
+import com.hedera.hashgraph.sdk.TransactionReceipt;
+import com.hedera.hashgraph.sdk.TransactionReceiptQuery;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * hedged 트랜잭션 실행기.
+ * <p>
+ * 트랜잭션을 primary 노드 목록으로 전송하고, hedgeDelay 안에 precheck 응답이 없으면 같은 TransactionId 를 가진 사본을 다른 노드로 전송합니다.
+ * primary 에는 hedge 노드를 제외한 최대 {@value #PRIMARY_NODE_COUNT}개 노드를 지정하므로, SDK 가 그 안에서 unhealthy 노드를 건너뛰고 재시도합니다.
+ * 시작 시점에 hedge 예산이 없으면 노드를 지정하지 않고 SDK 기본 노드 선택으로 전송합니다.
+ * <p>
+ * 먼저 precheck 를 통과한 사본의 TransactionId 로 영수증을 조회하며, 영수증 상태가 SUCCESS 가 아니면 ReceiptStatusException 을 던집니다.
+ * 사본이 DUPLICATE_TRANSACTION 으로 거절되면 다른 사본이 이미 네트워크에 제출된 것이므로 제출 성공으로 처리합니다.
+ * 트랜잭션 body 에 노드 계정이 포함되므로 사본마다 transactionFactory 로 새 트랜잭션을 만들어 서명합니다.
+ * primary 가 hedgeDelay 전에 실패하면 예산이 허용하는 경우 바로 hedge 를 전송합니다.
+ * <p>
+ * hedged 전송은 {@link HedgeBudget} 이 허용하는 경우에만 수행됩니다.
+ * {@code client.getNetwork()} 는 호출마다 노드 목록을 복사하므로, 중복을 제거한 노드 목록을 {@value #NODE_REFRESH_SECONDS}초 동안 재사용합니다.
+ * chunk 가 여러 개인 메시지는 chunk 마다 TransactionId 가 달라지므로 단일 chunk 트랜잭션에만 사용해야 합니다.
+ */
+@Slf4j
+public class HedgedTransactionExecutor {
+    // 노드마다 서명이 추가되므로 SDK 기본값(네트워크의 1/3)보다 작게 제한
+    private static final int PRIMARY_NODE_COUNT = 3;
+    private static final long NODE_REFRESH_SECONDS = 10;
+
+    private final Duration hedgeDelay;
+    private final HedgeBudget budget;
+    private final ScheduledExecutorService scheduler;
+    private final TransactionSender sender;
+    private final Supplier<Collection<AccountId>> networkNodes;
+    private final Supplier<AccountId> operatorAccountId;
+    private final ReceiptQuery receiptQuery;
+
+    private volatile NodeSnapshot nodeSnapshot;
+
+    private final AtomicLong hedgedCount = new AtomicLong();
+    private final AtomicLong hedgeWinCount = new AtomicLong();
+
+    public HedgedTransactionExecutor(@NonNull Client client,
+                                     @NonNull Duration hedgeDelay,
+                                     @NonNull HedgeBudget budget,
+                                     @NonNull ScheduledExecutorService scheduler) {
+        this(hedgeDelay, budget, scheduler,
+                transaction -> sendWithClient(client, transaction),
+                () -> client.getNetwork().values(),
+                client::getOperatorAccountId,
+                transactionId -> new TransactionReceiptQuery()
+                        .setTransactionId(transactionId)
+                        .execute(client));
+    }
+
+    HedgedTransactionExecutor(Duration hedgeDelay,
+                              HedgeBudget budget,
+                              ScheduledExecutorService scheduler,
+                              TransactionSender sender,
+                              Supplier<Collection<AccountId>> networkNodes,
+                              Supplier<AccountId> operatorAccountId,
+                              ReceiptQuery receiptQuery) {
+        this.hedgeDelay = hedgeDelay;
+        this.budget = budget;
+        this.scheduler = scheduler;
+        this.sender = sender;
+        this.networkNodes = networkNodes;
+        this.operatorAccountId = operatorAccountId;
+        this.receiptQuery = receiptQuery;
+    }
+
+    /**
+     * @param transactionFactory 실행할 트랜잭션 생성 함수 - 호출마다 새 트랜잭션을 반환해야 합니다.
+     * @param immediate          true 이면 hedgeDelay 없이 바로 두 노드로 전송합니다.
+     * @return 제출된 트랜잭션의 영수증
+     * @throws PrecheckStatusException 모든 전송이 precheck 에서 실패한 경우
+     * @throws TimeoutException        요청 시간이 초과될 경우
+     * @throws ReceiptStatusException  영수증 상태가 SUCCESS 가 아닌 경우
+     */
+    public <T extends Transaction<T>> TransactionReceipt execute(@NonNull Supplier<T> transactionFactory,
+                                                                 boolean immediate)
+            throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
+        CompletableFuture<TransactionId> submitted = submit(transactionFactory, immediate);
+
+        try {
+            TransactionId transactionId = submitted.get();
+
+            return receiptQuery.query(transactionId).validateStatus(true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while executing transaction", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof PrecheckStatusException precheckStatusException) throw precheckStatusException;
+            if (cause instanceof TimeoutException timeoutException) throw timeoutException;
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+
+            throw new IllegalStateException("Failed to execute transaction", cause);
+        }
+    }
+
+    public long getHedgedCount() {
+        return hedgedCount.get();
+    }
+
+    public long getHedgeWinCount() {
+        return hedgeWinCount.get();
+    }
+
+    /**
+     * 트랜잭션을 전송하고, 먼저 제출된 사본의 TransactionId 로 완료되는 future 를 반환합니다.
+     */
+    <T extends Transaction<T>> CompletableFuture<TransactionId> submit(Supplier<T> transactionFactory, boolean immediate) {
+        TransactionId transactionId = TransactionId.generate(operatorAccountId.get());
+
+        budget.onRequest();
+
+        List<AccountId> nodes = networkNodes();
+        Attempts attempts = new Attempts(transactionId);
+
+        if (nodes.size() < 2 || !budget.hasCredit()) {
+            // hedge 할 수 없으면 SDK 기본 노드 선택과 재시도를 그대로 사용
+            attempts.launch(transactionFactory.get().setTransactionId(transactionId), false);
+            return attempts.result;
+        }
+
+        List<AccountId> picked = pickNodes(nodes, PRIMARY_NODE_COUNT + 1);
+        AccountId hedgeNode = picked.get(0);
+        List<AccountId> primaryNodes = picked.subList(1, picked.size());
+
+        Runnable sendHedge = () -> {
+            if (!attempts.claimHedge())
+                return;
+
+            if (!budget.tryAcquire()) {
+                attempts.hedgeDecided();
+                return;
+            }
+
+            hedgedCount.incrementAndGet();
+            log.debug("Hedging transaction {} to node {}", transactionId, hedgeNode);
+
+            attempts.launch(prepare(transactionFactory.get(), List.of(hedgeNode), transactionId), true);
+            attempts.hedgeDecided();
+        };
+
+        attempts.onPrimaryFailure = sendHedge;
+        attempts.launch(prepare(transactionFactory.get(), primaryNodes, transactionId), false);
+
+        if (immediate) {
+            sendHedge.run();
+        } else {
+            ScheduledFuture<?> hedge = scheduler.schedule(sendHedge, hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+            attempts.result.whenComplete((id, error) -> hedge.cancel(false));
+        }
+
+        return attempts.result;
+    }
+
+    private <T extends Transaction<T>> T prepare(T transaction, List<AccountId> nodes, TransactionId transactionId) {
+        return transaction
+                .setNodeAccountIds(new ArrayList<>(nodes))
+                .setTransactionId(transactionId);
+    }
+
+    private List<AccountId> networkNodes() {
+        NodeSnapshot snapshot = nodeSnapshot;
+        long now = System.nanoTime();
+
+        if (snapshot == null || now - snapshot.loadedAtNanos() >= TimeUnit.SECONDS.toNanos(NODE_REFRESH_SECONDS)) {
+            // 주소가 여러 개인 노드가 있으므로 중복 제거
+            snapshot = new NodeSnapshot(List.copyOf(new LinkedHashSet<>(networkNodes.get())), now);
+            nodeSnapshot = snapshot;
+        }
+
+        if (snapshot.nodes().isEmpty())
+            throw new IllegalStateException("Client network is empty");
+
+        return snapshot.nodes();
+    }
+
+    // 전체 목록을 섞지 않고 count 개를 중복 없이 무작위로 선택
+    private static List<AccountId> pickNodes(List<AccountId> nodes, int count) {
+        AccountId[] picked = new AccountId[Math.min(count, nodes.size())];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < picked.length; ) {
+            AccountId node = nodes.get(random.nextInt(nodes.size()));
+
+            if (!contains(picked, i, node))
+                picked[i++] = node;
+        }
+
+        return Arrays.asList(picked);
+    }
+
+    private static boolean contains(AccountId[] nodes, int length, AccountId node) {
+        for (int i = 0; i < length; i++)
+            if (nodes[i].equals(node))
+                return true;
+
+        return false;
+    }
+
+    // precheck 를 통과하거나 DUPLICATE_TRANSACTION 으로 거절된 경우 TransactionId 로 완료
+    private static CompletableFuture<TransactionId> sendWithClient(Client client, Transaction<?> transaction) {
+        return transaction.executeAsync(client).handle((response, error) -> {
+            if (error == null)
+                return response.transactionId;
+
+            Throwable cause = unwrap(error);
+
+            if (cause instanceof PrecheckStatusException precheckStatusException
+                    && precheckStatusException.status == Status.DUPLICATE_TRANSACTION)
+                throw new CompletionException(new DuplicateTransactionException(cause));
+
+            throw new CompletionException(cause);
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * 트랜잭션 전송 함수 - precheck 통과 시 TransactionId 로 완료됩니다.
+     * 같은 TransactionId 가 이미 제출되어 거절된 경우 {@link DuplicateTransactionException} 으로 완료해야 합니다.
+     */
+    interface TransactionSender {
+        CompletableFuture<TransactionId> send(Transaction<?> transaction);
+    }
+
+    /**
+     * TransactionId 로 영수증 조회.
+     */
+    interface ReceiptQuery {
+        TransactionReceipt query(TransactionId transactionId) throws PrecheckStatusException, TimeoutException;
+    }
+
+    private record NodeSnapshot(List<AccountId> nodes, long loadedAtNanos) {
+    }
+
+    /**
+     * 같은 TransactionId 의 다른 사본이 이미 제출되어 거절됨.
+     */
+    static final class DuplicateTransactionException extends RuntimeException {
+        DuplicateTransactionException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * 전송 시도 상태. 먼저 제출된 사본의 TransactionId 로 result 를 완료하고, 모든 시도가 실패하면 첫 실패로 완료합니다.
+     */
+    private final class Attempts {
+        private final TransactionId transactionId;
+        private final CompletableFuture<TransactionId> result = new CompletableFuture<>();
+        private Runnable onPrimaryFailure;
+        private int running;
+        private boolean hedgeClaimed;
+        private boolean hedgeDecided;
+        private Throwable firstFailure;
+
+        private Attempts(TransactionId transactionId) {
+            this.transactionId = transactionId;
+        }
+
+        private synchronized boolean claimHedge() {
+            if (hedgeClaimed || result.isDone())
+                return false;
+
+            hedgeClaimed = true;
+            return true;
+        }
+
+        private synchronized void hedgeDecided() {
+            hedgeDecided = true;
+            completeIfExhausted();
+        }
+
+        private void launch(Transaction<?> transaction, boolean isHedge) {
+            synchronized (this) {
+                running++;
+            }
+
+            sender.send(transaction).whenComplete((transactionId, error) -> onComplete(transactionId, error, isHedge));
+        }
+
+        private void onComplete(TransactionId submitted, Throwable error, boolean isHedge) {
+            Runnable hedgeNow = null;
+
+            synchronized (this) {
+                running--;
+
+                if (error == null) {
+                    if (result.complete(submitted) && isHedge)
+                        hedgeWinCount.incrementAndGet();
+                    return;
+                }
+
+                Throwable cause = unwrap(error);
+
+                if (cause instanceof DuplicateTransactionException duplicate) {
+                    // 다른 사본이 이미 제출됨 - 그 사본의 결과와 관계없이 TransactionId 로 영수증 조회 가능
+                    log.debug("Sibling copy of transaction was already submitted: {}", duplicate.getCause().getMessage());
+                    result.complete(transactionId);
+                    return;
+                }
+
+                if (firstFailure == null)
+                    firstFailure = cause;
+
+                if (!isHedge && !hedgeClaimed && onPrimaryFailure != null)
+                    hedgeNow = onPrimaryFailure;
+                else
+                    completeIfExhausted();
+            }
+
+            // primary 가 hedgeDelay 전에 실패하면 바로 hedge
+            if (hedgeNow != null) {
+                hedgeNow.run();
+
+                synchronized (this) {
+                    completeIfExhausted();
+                }
+            }
+        }
+
+        private void completeIfExhausted() {
+            boolean hedgeOutstanding = onPrimaryFailure != null && !hedgeDecided;
+
+            if (running == 0 && !hedgeOutstanding && firstFailure != null)
+                result.completeExceptionally(firstFailure);
+        }
+    }
+}
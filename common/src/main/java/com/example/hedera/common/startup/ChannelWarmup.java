@@ -0,0 +1,238 @@
+package com.example.hedera.common.startup;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.Client;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Spring context 시작 시 consensus 노드 gRPC 채널을 병렬로 미리 연결합니다.
+ * <p>
+ * 노드마다 ping(무료 잔액 조회)을 보내 채널 생성과 핸드셰이크를 첫 트랜잭션 전에 끝내고,
+ * 결과로 노드별 health score 를 갱신하여 {@link NetworkSnapshotStore} 에 저장합니다.
+ * 최대 waitTimeout 동안만 기다리므로 노드가 응답하지 않아도 시작이 지연되지 않습니다.
+ * <p>
+ * 저장하는 주소록은 알려진 전체 주소록에 저장 시점의 {@code client.getNetwork()} 를 합친 것이므로, SDK 가 갱신한 노드도 함께 저장됩니다.
+ * client 의 노드 목록에 새 노드가 있으면 주소록이 갱신된 것으로 보고 저장 시점을 갱신하며, health score 만 바뀐 경우에는 유지합니다.
+ * minHealth 미만으로 제외된 노드는 reprobeInterval 마다 별도 client 로 다시 ping 하여, 회복된 노드만 client 의 현재 노드 목록에 추가합니다.
+ */
+@Slf4j
+public class ChannelWarmup implements SmartLifecycle {
+    private static final double HEALTH_EWMA_ALPHA = 0.3;
+    // 처음 측정하는 노드의 시작 점수 - 한 번의 실패로 제외되지 않도록 정상값에서 시작
+    private static final double NEUTRAL_HEALTH = 1.0;
+
+    private final Client client;
+    private final NetworkSnapshotStore store;
+    private final Map<String, AccountId> addressBook = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int maxNodes;
+    private final Duration waitTimeout;
+    private final double minHealth;
+    private final Duration reprobeInterval;
+    private final Map<AccountId, Double> healthScores = new ConcurrentHashMap<>();
+
+    private volatile Instant addressBookRefreshedAt;
+    private ScheduledExecutorService reprobeScheduler;
+    private volatile boolean running;
+
+    /**
+     * @param client                 client
+     * @param store                  snapshot 저장소
+     * @param addressBook            알려진 전체 주소록
+     * @param addressBookRefreshedAt 주소록을 갱신한 시점
+     * @param initialHealthScores    저장된 health score
+     * @param enabled                warm-up 사용 여부
+     * @param maxNodes               warm-up 할 최대 노드 수
+     * @param waitTimeout            warm-up 최대 대기 시간
+     * @param minHealth              client 에서 사용할 최소 health score
+     * @param reprobeInterval        제외된 노드 재확인 주기
+     */
+    public ChannelWarmup(@NonNull Client client,
+                         @NonNull NetworkSnapshotStore store,
+                         @NonNull Map<String, AccountId> addressBook,
+                         @NonNull Instant addressBookRefreshedAt,
+                         @NonNull Map<AccountId, Double> initialHealthScores,
+                         boolean enabled,
+                         int maxNodes,
+                         @NonNull Duration waitTimeout,
+                         double minHealth,
+                         @NonNull Duration reprobeInterval) {
+        this.client = client;
+        this.store = store;
+        this.addressBook.putAll(addressBook);
+        this.addressBookRefreshedAt = addressBookRefreshedAt;
+        this.enabled = enabled;
+        this.maxNodes = maxNodes;
+        this.waitTimeout = waitTimeout;
+        this.minHealth = minHealth;
+        this.reprobeInterval = reprobeInterval;
+        this.healthScores.putAll(initialHealthScores);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+
+        if (!enabled)
+            return;
+
+        long started = System.nanoTime();
+        List<AccountId> nodes = nodesByHealth();
+        List<CompletableFuture<Void>> pings = new ArrayList<>(nodes.size());
+
+        for (AccountId node : nodes)
+            pings.add(client.pingAsync(node).whenComplete((ignored, error) -> recordHealth(node, error == null)));
+
+        try {
+            CompletableFuture.allOf(pings.toArray(CompletableFuture[]::new))
+                    .get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("Channel warm-up did not fully succeed: {}", e.getMessage());
+        }
+
+        long warmed = pings.stream().filter(ping -> ping.isDone() && !ping.isCompletedExceptionally()).count();
+
+        log.info("Warmed up {}/{} consensus node channels in {} ms",
+                warmed, nodes.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        saveSnapshot();
+
+        reprobeScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "node-reprobe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reprobeScheduler.scheduleWithFixedDelay(this::reprobeQuietly,
+                0, reprobeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (reprobeScheduler != null)
+            reprobeScheduler.shutdownNow();
+
+        if (running && enabled)
+            saveSnapshot();
+
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public Map<AccountId, Double> getHealthScores() {
+        return Map.copyOf(healthScores);
+    }
+
+    private List<AccountId> nodesByHealth() {
+        List<AccountId> nodes = new ArrayList<>(new HashSet<>(client.getNetwork().values()));
+        nodes.sort(Comparator.comparingDouble((AccountId node) -> healthScores.getOrDefault(node, NEUTRAL_HEALTH)).reversed());
+
+        return nodes.subList(0, Math.min(maxNodes, nodes.size()));
+    }
+
+    void recordHealth(AccountId node, boolean success) {
+        double sample = success ? 1.0 : 0.0;
+
+        healthScores.compute(node, (ignored, previous) -> {
+            double base = previous == null ? NEUTRAL_HEALTH : previous;
+            return base + (sample - base) * HEALTH_EWMA_ALPHA;
+        });
+    }
+
+    /**
+     * client 에서 제외된 노드를 별도 client 로 ping 하고, 회복된 노드를 client 의 현재 노드 목록에 추가합니다.
+     * client 의 노드 목록을 통째로 바꾸지 않으므로 SDK 가 그 사이 갱신한 노드는 그대로 유지됩니다.
+     */
+    void reprobe() throws InterruptedException, TimeoutException {
+        Map<String, AccountId> demoted = new HashMap<>(addressBook);
+        demoted.keySet().removeAll(client.getNetwork().keySet());
+
+        if (demoted.isEmpty())
+            return;
+
+        // 결제가 필요 없는 잔액 조회로만 ping 하므로 operator 없이 사용
+        try (Client probe = Client.forNetwork(demoted)) {
+            List<CompletableFuture<Void>> pings = new ArrayList<>(demoted.size());
+
+            for (AccountId node : new HashSet<>(demoted.values()))
+                pings.add(probe.pingAsync(node).whenComplete((ignored, error) -> recordHealth(node, error == null)));
+
+            try {
+                CompletableFuture.allOf(pings.toArray(CompletableFuture[]::new))
+                        .get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                log.debug("Re-probe of demoted nodes did not fully succeed: {}", e.getMessage());
+            }
+        }
+
+        int current = client.getNetwork().size();
+        Map<String, AccountId> network = networkWithRecovered(demoted);
+
+        if (network.size() > current) {
+            log.info("Re-adding {} recovered nodes to client network", network.size() - current);
+            client.setNetwork(network);
+        }
+
+        saveSnapshot();
+    }
+
+    /**
+     * client 의 현재 노드 목록에 demoted 중 health score 가 minHealth 이상으로 회복된 노드를 추가한 목록.
+     */
+    Map<String, AccountId> networkWithRecovered(Map<String, AccountId> demoted) {
+        Map<String, AccountId> network = new HashMap<>(client.getNetwork());
+
+        demoted.forEach((address, accountId) -> {
+            if (healthScores.getOrDefault(accountId, NEUTRAL_HEALTH) >= minHealth)
+                network.putIfAbsent(address, accountId);
+        });
+
+        return network;
+    }
+
+    private void reprobeQuietly() {
+        try {
+            reprobe();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException | RuntimeException e) {
+            log.warn("Failed to re-probe demoted nodes: {}", e.getMessage());
+        }
+    }
+
+    synchronized void saveSnapshot() {
+        boolean refreshed = false;
+
+        // SDK 가 주소록을 갱신했을 수 있으므로 저장 시점의 client 노드 목록을 합침
+        for (Map.Entry<String, AccountId> node : client.getNetwork().entrySet())
+            refreshed |= !node.getValue().equals(addressBook.put(node.getKey(), node.getValue()));
+
+        if (refreshed)
+            addressBookRefreshedAt = Instant.now();
+
+        store.save(new NetworkSnapshot(addressBook, healthScores, addressBookRefreshedAt));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.hedera.common.startup;
+
+import com.hedera.hashgraph.sdk.AccountId;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 알려진 전체 consensus 노드 주소록과 노드별 health score.
+ * client 가 사용하는 노드 목록은 {@link #healthyNetwork(double)} 로 걸러서 만들며, 제외된 노드도 주소록에는 남습니다.
+ *
+ * @param network      노드 주소(host:port) - 노드 계정 ID
+ * @param healthScores 노드 계정 ID - health score (0 ~ 1)
+ * @param savedAt      주소록을 갱신한 시점 - health score 만 바뀐 저장에서는 유지되며 cache-max-age 의 기준이 됩니다.
+ */
+public record NetworkSnapshot(Map<String, AccountId> network,
+                              Map<AccountId, Double> healthScores,
+                              Instant savedAt) {
+
+    public NetworkSnapshot {
+        network = Map.copyOf(network);
+        healthScores = Map.copyOf(healthScores);
+    }
+
+    /**
+     * health score 가 minHealth 이상인 노드만 남긴 주소록. score 가 없는 노드는 포함됩니다.
+     *
+     * @param minHealth 최소 health score
+     * @return 노드 주소 - 노드 계정 ID
+     */
+    public Map<String, AccountId> healthyNetwork(double minHealth) {
+        Map<String, AccountId> healthy = new HashMap<>();
+
+        network.forEach((address, accountId) -> {
+            if (healthScores.getOrDefault(accountId, 1.0) >= minHealth)
+                healthy.put(address, accountId);
+        });
+
+        return healthy;
+    }
+}
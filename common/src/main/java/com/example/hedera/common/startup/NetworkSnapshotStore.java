@@ -0,0 +1,102 @@
+package com.example.hedera.common.startup;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * {@link NetworkSnapshot} 을 로컬 디스크의 properties 파일로 저장/조회합니다.
+ * <p>
+ * 형식: {@code saved-at=<epoch millis>}, {@code node.<host:port>=<accountId>}, {@code health.<accountId>=<score>}
+ * 파일을 읽지 못하면 캐시가 없는 것으로 처리하며, 저장은 임시 파일에 쓴 뒤 교체합니다.
+ */
+@Slf4j
+public class NetworkSnapshotStore {
+    private static final String SAVED_AT = "saved-at";
+    private static final String NODE_PREFIX = "node.";
+    private static final String HEALTH_PREFIX = "health.";
+
+    private final Path file;
+
+    public NetworkSnapshotStore(@NonNull Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @param maxAge 허용할 최대 캐시 수명
+     * @return 저장된 snapshot, 없거나 maxAge 보다 오래되었으면 empty
+     */
+    public Optional<NetworkSnapshot> load(@NonNull Duration maxAge) {
+        if (!Files.isRegularFile(file))
+            return Optional.empty();
+
+        Properties properties = new Properties();
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+
+            Instant savedAt = Instant.ofEpochMilli(Long.parseLong(properties.getProperty(SAVED_AT, "0")));
+
+            if (savedAt.plus(maxAge).isBefore(Instant.now())) {
+                log.info("Ignoring network snapshot saved at {} (older than {})", savedAt, maxAge);
+                return Optional.empty();
+            }
+
+            Map<String, AccountId> network = new HashMap<>();
+            Map<AccountId, Double> healthScores = new HashMap<>();
+
+            for (String key : properties.stringPropertyNames()) {
+                String value = properties.getProperty(key);
+
+                if (key.startsWith(NODE_PREFIX))
+                    network.put(key.substring(NODE_PREFIX.length()), AccountId.fromString(value));
+                else if (key.startsWith(HEALTH_PREFIX))
+                    healthScores.put(AccountId.fromString(key.substring(HEALTH_PREFIX.length())), Double.parseDouble(value));
+            }
+
+            if (network.isEmpty())
+                return Optional.empty();
+
+            return Optional.of(new NetworkSnapshot(network, healthScores, savedAt));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to read network snapshot {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void save(@NonNull NetworkSnapshot snapshot) {
+        Properties properties = new Properties();
+        properties.setProperty(SAVED_AT, Long.toString(snapshot.savedAt().toEpochMilli()));
+        snapshot.network().forEach((address, accountId) -> properties.setProperty(NODE_PREFIX + address, accountId.toString()));
+        snapshot.healthScores().forEach((accountId, score) -> properties.setProperty(HEALTH_PREFIX + accountId, Double.toString(score)));
+
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+
+            Path temp = Files.createTempFile(directory, "network", ".tmp");
+
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "hedera network snapshot");
+            }
+
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to save network snapshot {}: {}", file, e.getMessage());
+        }
+    }
+}
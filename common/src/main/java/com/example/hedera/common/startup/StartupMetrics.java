@@ -0,0 +1,38 @@
+package com.example.hedera.common.startup;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JVM 시작부터 첫 번째 성공한 트랜잭션까지의 시간(time-to-first-successful-submit)을 기록합니다.
+ */
+@Slf4j
+public class StartupMetrics {
+    private final AtomicLong timeToFirstSuccessMillis = new AtomicLong(-1);
+
+    /**
+     * 첫 호출에서만 기록합니다.
+     *
+     * @param operation 작업 이름 (로그용)
+     */
+    public void recordFirstSuccess(@NonNull String operation) {
+        // 매 전송마다 호출되므로 이미 기록된 경우 uptime 조회 없이 반환
+        if (timeToFirstSuccessMillis.get() >= 0)
+            return;
+
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+
+        if (timeToFirstSuccessMillis.compareAndSet(-1, uptime))
+            log.info("Time to first successful {}: {} ms since JVM start", operation, uptime);
+    }
+
+    public OptionalLong getTimeToFirstSuccessMillis() {
+        long value = timeToFirstSuccessMillis.get();
+
+        return value < 0 ? OptionalLong.empty() : OptionalLong.of(value);
+    }
+}
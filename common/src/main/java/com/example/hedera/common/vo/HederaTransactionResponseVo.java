@@ -2,6 +2,7 @@ package com.example.hedera.common.vo;
 
 import com.hedera.hashgraph.sdk.ExchangeRate;
 import com.hedera.hashgraph.sdk.Status;
+import com.hedera.hashgraph.sdk.TransactionId;
 import com.hedera.hashgraph.sdk.TransactionReceipt;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -12,19 +13,37 @@ import java.util.Objects;
 @Getter
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class HederaTransactionResponseVo<T> {
+    private static final String UNKNOWN_TRANSACTION_ID = "UNKNOWN_TRANSACTION_ID";
+
     private final Status status;
-    private final String transactionId;
+    @Getter(AccessLevel.NONE)
+    private final TransactionId transactionIdValue;
     private final ExchangeRate exchangeRate;
     private final T result;
 
+    // 문자열은 처음 조회할 때 생성
+    @Getter(AccessLevel.NONE)
+    private String transactionId;
+
     public static <T> HederaTransactionResponseVo<T> of(TransactionReceipt receipt, T result) {
         Objects.requireNonNull(receipt);
 
         return new HederaTransactionResponseVo<>(
                 Objects.requireNonNull(receipt.status, "Status cannot be null"),
-                receipt.transactionId != null ? receipt.transactionId.toString() : "UNKNOWN_TRANSACTION_ID",
+                receipt.transactionId,
                 receipt.exchangeRate,
                 result
         );
     }
+
+    public String getTransactionId() {
+        String rendered = transactionId;
+
+        if (rendered == null) {
+            rendered = transactionIdValue != null ? transactionIdValue.toString() : UNKNOWN_TRANSACTION_ID;
+            transactionId = rendered;
+        }
+
+        return rendered;
+    }
 }
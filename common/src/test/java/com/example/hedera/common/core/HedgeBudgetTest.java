@@ -0,0 +1,33 @@
+package com.example.hedera.common.core;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HedgeBudgetTest {
+
+    @Test
+    void limitsHedgesToRatioOfRequests() {
+        HedgeBudget budget = new HedgeBudget(0.1, 5);
+        int hedged = 0;
+
+        for (int i = 0; i < 1_000; i++) {
+            budget.onRequest();
+            if (budget.tryAcquire()) hedged++;
+        }
+
+        Assertions.assertThat(hedged).isBetween(99, 100);
+    }
+
+    @Test
+    void capsAccumulatedCredits() {
+        HedgeBudget budget = new HedgeBudget(0.5, 3);
+
+        for (int i = 0; i < 100; i++)
+            budget.onRequest();
+
+        Assertions.assertThat(budget.tryAcquire()).isTrue();
+        Assertions.assertThat(budget.tryAcquire()).isTrue();
+        Assertions.assertThat(budget.tryAcquire()).isTrue();
+        Assertions.assertThat(budget.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.hedera.common.core;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.ReceiptStatusException;
+import com.hedera.hashgraph.sdk.TopicMessageSubmitTransaction;
+import com.hedera.hashgraph.sdk.Transaction;
+import com.hedera.hashgraph.sdk.TransactionId;
+import com.hedera.hashgraph.sdk.TransactionReceipt;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+class HedgedTransactionExecutorTest {
+    private static final AccountId NODE_A = AccountId.fromString("0.0.3");
+    private static final AccountId NODE_B = AccountId.fromString("0.0.4");
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final FakeSender sender = new FakeSender();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void primaryWinsWithoutHedge() throws Exception {
+        HedgedTransactionExecutor executor = newExecutor(Duration.ofSeconds(10));
+
+        CompletableFuture<TransactionId> result = executor.submit(TopicMessageSubmitTransaction::new, false);
+        sender.succeed(0);
+
+        Assertions.assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(sender.sent.get(0).getTransactionId());
+        Assertions.assertThat(sender.sent).hasSize(1);
+        Assertions.assertThat(executor.getHedgedCount()).isZero();
+    }
+
+    @Test
+    void hedgeWinsWhenPrimaryIsSlow() throws Exception {
+        HedgedTransactionExecutor executor = newExecutor(Duration.ofMillis(20));
+
+        CompletableFuture<TransactionId> result = executor.submit(TopicMessageSubmitTransaction::new, false);
+        awaitSent(2);
+        sender.succeed(1);
+
+        Transaction<?> primary = sender.sent.get(0);
+        Transaction<?> hedge = sender.sent.get(1);
+
+        Assertions.assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(primary.getTransactionId());
+        Assertions.assertThat(hedge.getTransactionId()).isEqualTo(primary.getTransactionId());
+        Assertions.assertThat(primary.getNodeAccountIds()).doesNotContainAnyElementsOf(hedge.getNodeAccountIds());
+        Assertions.assertThat(executor.getHedgeWinCount()).isEqualTo(1);
+    }
+
+    @Test
+    void hedgesImmediatelyWhenPrimaryFailsBeforeDelay() throws Exception {
+        HedgedTransactionExecutor executor = newExecutor(Duration.ofSeconds(10));
+
+        CompletableFuture<TransactionId> result = executor.submit(TopicMessageSubmitTransaction::new, false);
+        sender.fail(0, new TimeoutException("primary timed out"));
+
+        Assertions.assertThat(sender.sent).hasSize(2);
+        Assertions.assertThat(result).isNotDone();
+
+        sender.succeed(1);
+
+        Assertions.assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(sender.sent.get(0).getTransactionId());
+    }
+
+    @Test
+    void failsWithFirstErrorWhenBothCopiesFail() {
+        HedgedTransactionExecutor executor = newExecutor(Duration.ofSeconds(10));
+
+        CompletableFuture<TransactionId> result = executor.submit(TopicMessageSubmitTransaction::new, true);
+        sender.fail(0, new TimeoutException("primary timed out"));
+        Assertions.assertThat(result).isNotDone();
+
+        sender.fail(1, new IllegalStateException("hedge failed"));
+
+        Assertions.assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void duplicateFromSiblingCountsAsSubmitted() throws Exception {
+        HedgedTransactionExecutor executor = newExecutor(Duration.ofSeconds(10));
+
+        CompletableFuture<TransactionId> result = executor.submit(TopicMessageSubmitTransaction::new, true);
+        sender.fail(1, new HedgedTransactionExecutor.DuplicateTransactionException(
+                new IllegalStateException("DUPLICATE_TRANSACTION")));
+        sender.fail(0, new TimeoutException("primary timed out"));
+
+        Assertions.assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(sender.sent.get(0).getTransactionId());
+    }
+
+    @Test
+    void usesDefaultNodeSelectionWithoutBudget() throws Exception {
+        HedgedTransactionExecutor executor = new HedgedTransactionExecutor(Duration.ofMillis(1),
+                new HedgeBudget(0, 1), scheduler, sender, () -> List.of(NODE_A, NODE_B), () -> AccountId.fromString("0.0.1001"),
+                transactionId -> receipt(ResponseCodeEnum.SUCCESS));
+
+        CompletableFuture<TransactionId> result = executor.submit(TopicMessageSubmitTransaction::new, true);
+        sender.succeed(0);
+
+        Assertions.assertThat(result.get(5, TimeUnit.SECONDS)).isNotNull();
+        Assertions.assertThat(sender.sent).hasSize(1);
+        Assertions.assertThat(sender.sent.get(0).getNodeAccountIds()).isNullOrEmpty();
+    }
+
+    @Test
+    void executeThrowsOnFailedReceiptStatus() {
+        HedgedTransactionExecutor executor = new HedgedTransactionExecutor(Duration.ofSeconds(10),
+                new HedgeBudget(1, 10), scheduler,
+                transaction -> CompletableFuture.completedFuture(transaction.getTransactionId()),
+                () -> List.of(NODE_A, NODE_B), () -> AccountId.fromString("0.0.1001"),
+                transactionId -> receipt(ResponseCodeEnum.INVALID_TOPIC_ID));
+
+        Assertions.assertThatThrownBy(() -> executor.execute(TopicMessageSubmitTransaction::new, false))
+                .isInstanceOf(ReceiptStatusException.class);
+    }
+
+    @Test
+    void picksDistinctPrimaryAndHedgeNodesFromDuplicateAddresses() throws Exception {
+        // 주소가 두 개인 노드가 있어도 primary 와 hedge 는 서로 다른 노드
+        HedgedTransactionExecutor executor = new HedgedTransactionExecutor(Duration.ofSeconds(10),
+                new HedgeBudget(1, 10), scheduler, sender, () -> List.of(NODE_A, NODE_A, NODE_B),
+                () -> AccountId.fromString("0.0.1001"), transactionId -> receipt(ResponseCodeEnum.SUCCESS));
+
+        for (int i = 0; i < 20; i++)
+            executor.submit(TopicMessageSubmitTransaction::new, true);
+
+        for (int i = 0; i < sender.sent.size(); i += 2)
+            Assertions.assertThat(sender.sent.get(i).getNodeAccountIds())
+                    .doesNotContainAnyElementsOf(sender.sent.get(i + 1).getNodeAccountIds());
+    }
+
+    private HedgedTransactionExecutor newExecutor(Duration hedgeDelay) {
+        return new HedgedTransactionExecutor(hedgeDelay, new HedgeBudget(1, 10), scheduler,
+                sender, () -> List.of(NODE_A, NODE_B), () -> AccountId.fromString("0.0.1001"),
+                transactionId -> receipt(ResponseCodeEnum.SUCCESS));
+    }
+
+    private static TransactionReceipt receipt(ResponseCodeEnum status) {
+        try {
+            return TransactionReceipt.fromBytes(com.hedera.hashgraph.sdk.proto.TransactionReceipt.newBuilder()
+                    .setStatus(status)
+                    .build()
+                    .toByteArray());
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitSent(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+
+        while (sender.sent.size() < count) {
+            if (System.nanoTime() > deadline)
+                throw new AssertionError("Expected " + count + " copies to be sent");
+
+            Thread.sleep(5);
+        }
+    }
+
+    private static final class FakeSender implements HedgedTransactionExecutor.TransactionSender {
+        private final List<Transaction<?>> sent = new CopyOnWriteArrayList<>();
+        private final List<CompletableFuture<TransactionId>> responses = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<TransactionId> send(Transaction<?> transaction) {
+            CompletableFuture<TransactionId> response = new CompletableFuture<>();
+
+            sent.add(transaction);
+            responses.add(response);
+
+            return response;
+        }
+
+        private void succeed(int index) {
+            responses.get(index).complete(sent.get(index).getTransactionId());
+        }
+
+        private void fail(int index, Throwable error) {
+            responses.get(index).completeExceptionally(error);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.hedera.common.startup;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.Client;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+class ChannelWarmupTest {
+    private static final AccountId NODE_3 = AccountId.fromString("0.0.3");
+    private static final AccountId NODE_4 = AccountId.fromString("0.0.4");
+    private static final AccountId NODE_5 = AccountId.fromString("0.0.5");
+    private static final AccountId NODE_6 = AccountId.fromString("0.0.6");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void firstFailureStartsFromNeutralScore() {
+        ChannelWarmup warmup = warmup(Map.of(), Instant.now());
+
+        warmup.recordHealth(NODE_3, false);
+
+        // 한 번의 실패로 min-health(0.2) 미만이 되지 않음
+        Assertions.assertThat(warmup.getHealthScores().get(NODE_3)).isEqualTo(0.7);
+    }
+
+    @Test
+    void savesFullAddressBookAndKeepsRefreshTime() {
+        Instant refreshedAt = Instant.now().minus(Duration.ofDays(3)).truncatedTo(ChronoUnit.MILLIS);
+        ChannelWarmup warmup = warmup(Map.of(NODE_4, 0.1), refreshedAt);
+
+        warmup.saveSnapshot();
+
+        NetworkSnapshot saved = new NetworkSnapshotStore(directory.resolve("network.properties"))
+                .load(Duration.ofDays(7)).orElseThrow();
+
+        // client 에서 제외된 노드도 주소록에 남고, 저장 시점은 주소록 갱신 시점을 유지
+        Assertions.assertThat(saved.network()).containsOnlyKeys("34.94.106.61:50211", "35.237.119.55:50211");
+        Assertions.assertThat(saved.healthyNetwork(0.2)).containsOnlyKeys("34.94.106.61:50211");
+        Assertions.assertThat(saved.savedAt()).isEqualTo(refreshedAt);
+    }
+
+    @Test
+    void savesNodesRefreshedByClient() {
+        Instant refreshedAt = Instant.now().minus(Duration.ofDays(3));
+        Client client = client(Map.of("34.94.106.61:50211", NODE_3, "35.186.191.247:50211", NODE_5));
+        ChannelWarmup warmup = warmup(client, Map.of(), refreshedAt);
+
+        warmup.saveSnapshot();
+
+        NetworkSnapshot saved = new NetworkSnapshotStore(directory.resolve("network.properties"))
+                .load(Duration.ofDays(7)).orElseThrow();
+
+        // SDK 가 추가한 노드가 저장되고, 주소록이 바뀌었으므로 저장 시점도 갱신
+        Assertions.assertThat(saved.network())
+                .containsOnlyKeys("34.94.106.61:50211", "35.237.119.55:50211", "35.186.191.247:50211");
+        Assertions.assertThat(saved.savedAt()).isAfter(refreshedAt);
+    }
+
+    @Test
+    void reAddsOnlyRecoveredNodesToCurrentNetwork() {
+        Client client = client(Map.of("34.94.106.61:50211", NODE_3, "35.186.191.247:50211", NODE_5));
+        ChannelWarmup warmup = warmup(client, Map.of(NODE_4, 0.5, NODE_6, 0.1), Instant.now());
+
+        Map<String, AccountId> network = warmup.networkWithRecovered(
+                Map.of("35.237.119.55:50211", NODE_4, "34.83.112.116:50211", NODE_6));
+
+        // client 의 현재 노드는 유지하고, 회복된 노드만 추가
+        Assertions.assertThat(network)
+                .containsOnlyKeys("34.94.106.61:50211", "35.186.191.247:50211", "35.237.119.55:50211");
+    }
+
+    private ChannelWarmup warmup(Map<AccountId, Double> healthScores, Instant refreshedAt) {
+        return warmup(client(Map.of("34.94.106.61:50211", NODE_3)), healthScores, refreshedAt);
+    }
+
+    private static Client client(Map<String, AccountId> network) {
+        Client client = Mockito.mock(Client.class);
+        Mockito.when(client.getNetwork()).thenReturn(network);
+
+        return client;
+    }
+
+    private ChannelWarmup warmup(Client client, Map<AccountId, Double> healthScores, Instant refreshedAt) {
+
+        return new ChannelWarmup(client,
+                new NetworkSnapshotStore(directory.resolve("network.properties")),
+                Map.of("34.94.106.61:50211", NODE_3, "35.237.119.55:50211", NODE_4),
+                refreshedAt,
+                healthScores,
+                true,
+                8,
+                Duration.ofSeconds(3),
+                0.2,
+                Duration.ofMinutes(10));
+    }
+}
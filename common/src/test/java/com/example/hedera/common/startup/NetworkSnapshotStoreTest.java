@@ -0,0 +1,50 @@
+package com.example.hedera.common.startup;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+class NetworkSnapshotStoreTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void savesAndLoadsSnapshot() {
+        NetworkSnapshotStore store = new NetworkSnapshotStore(directory.resolve("network.properties"));
+        AccountId node3 = AccountId.fromString("0.0.3");
+        AccountId node4 = AccountId.fromString("0.0.4");
+        Instant savedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        store.save(new NetworkSnapshot(
+                Map.of("34.94.106.61:50211", node3, "35.237.119.55:50211", node4),
+                Map.of(node3, 0.9, node4, 0.1),
+                savedAt));
+
+        NetworkSnapshot loaded = store.load(Duration.ofDays(1)).orElseThrow();
+
+        Assertions.assertThat(loaded.savedAt()).isEqualTo(savedAt);
+        Assertions.assertThat(loaded.network()).containsEntry("34.94.106.61:50211", node3).hasSize(2);
+        Assertions.assertThat(loaded.healthyNetwork(0.2)).containsOnlyKeys("34.94.106.61:50211");
+    }
+
+    @Test
+    void ignoresExpiredOrMissingSnapshot() {
+        NetworkSnapshotStore store = new NetworkSnapshotStore(directory.resolve("network.properties"));
+
+        Assertions.assertThat(store.load(Duration.ofDays(1))).isEmpty();
+
+        store.save(new NetworkSnapshot(
+                Map.of("34.94.106.61:50211", AccountId.fromString("0.0.3")),
+                Map.of(),
+                Instant.now().minus(Duration.ofDays(2))));
+
+        Assertions.assertThat(store.load(Duration.ofDays(1))).isEmpty();
+    }
+}
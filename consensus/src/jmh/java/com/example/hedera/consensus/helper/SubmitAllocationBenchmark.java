@@ -0,0 +1,78 @@
+package com.example.hedera.consensus.helper;
+
+import com.example.hedera.common.vo.HederaTransactionResponseVo;
+import com.example.hedera.consensus.vo.MessageReceiptVo;
+import com.example.hedera.consensus.vo.MessageResponseVo;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.TopicId;
+import com.hedera.hashgraph.sdk.TopicMessageSubmitTransaction;
+import com.hedera.hashgraph.sdk.TransactionId;
+import com.hedera.hashgraph.sdk.TransactionReceipt;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 전송 1건당 클라이언트 측 할당 비교 (네트워크 호출, 서명 제외).
+ * <p>
+ * {@link ConsensusHelperV1} 의 submitMessage / submitMessageLean 이 사용하는 TopicId 조회, 트랜잭션 생성(인코딩 포함),
+ * 결과 VO 생성 코드를 그대로 호출합니다. 영수증은 노드 응답과 같이 protobuf 에서 한 번 생성해 둡니다.
+ * 실행: ./gradlew :consensus:jmh 후 gc.alloc.rate.norm (byte/op) 비교
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SubmitAllocationBenchmark {
+    private static final String TOPIC_ID = "0.0.4567";
+
+    @Param({"64", "1000"})
+    private int messageSize;
+
+    private String message;
+    private TopicIdCache topicIds;
+    private TransactionId transactionId;
+    private TransactionReceipt receipt;
+
+    @Setup
+    public void setUp() throws InvalidProtocolBufferException {
+        message = "x".repeat(messageSize);
+        topicIds = new TopicIdCache(16_384);
+        transactionId = TransactionId.generate(AccountId.fromString("0.0.1001"));
+        receipt = TransactionReceipt.fromBytes(com.hedera.hashgraph.sdk.proto.TransactionReceipt.newBuilder()
+                .setStatus(ResponseCodeEnum.SUCCESS)
+                .setTopicSequenceNumber(12_345L)
+                .build()
+                .toByteArray());
+    }
+
+    @Benchmark
+    public void submitMessage(Blackhole blackhole) {
+        TopicMessageSubmitTransaction transaction =
+                ConsensusHelperV1.newSubmitTransaction(topicIds.get(TOPIC_ID), message);
+        HederaTransactionResponseVo<MessageResponseVo> response =
+                ConsensusHelperV1.toMessageResponse(TOPIC_ID, message, receipt);
+
+        blackhole.consume(transaction);
+        blackhole.consume(response);
+    }
+
+    @Benchmark
+    public void submitMessageLean(Blackhole blackhole) {
+        TopicId topicId = topicIds.get(TOPIC_ID);
+        TopicMessageSubmitTransaction transaction = ConsensusHelperV1.newSubmitTransaction(topicId, message);
+        MessageReceiptVo response = ConsensusHelperV1.toMessageReceipt(topicId, transactionId, receipt);
+
+        blackhole.consume(transaction);
+        blackhole.consume(response);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.hedera.consensus.config;
+
+import com.example.hedera.consensus.subscription.HedgedTopicSubscriber;
+import com.example.hedera.consensus.subscription.MirrorMessageStream;
+import com.example.hedera.consensus.subscription.MirrorRestTopicMessageSource;
+import com.example.hedera.consensus.subscription.SdkMirrorMessageStream;
+import com.example.hedera.consensus.subscription.TopicSubscriptionMultiplexer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration(proxyBeanMethods = false)
+public class MirrorSubscriptionConfig {
+
+    @Bean(destroyMethod = "close")
+    public TopicSubscriptionMultiplexer topicSubscriptionMultiplexer(
+            ObjectMapper objectMapper,
+            @Value("${hedera.mirror.rest-urls:https://testnet.mirrornode.hedera.com}") List<String> restUrls,
+            @Value("${hedera.mirror.page-size:100}") int pageSize,
+            @Value("${hedera.mirror.min-poll-interval:500ms}") Duration minPollInterval,
+            @Value("${hedera.mirror.max-poll-interval:30s}") Duration maxPollInterval,
+            @Value("${hedera.mirror.max-in-flight:64}") int maxInFlight,
+            @Value("${hedera.mirror.per-topic-budget-bytes:262144}") long perTopicBudgetBytes,
+            @Value("${hedera.mirror.max-requests-per-second:50}") double maxRequestsPerSecond,
+            @Value("${hedera.mirror.max-idle-lag:60s}") Duration maxIdleLag,
+            @Value("${hedera.mirror.io-threads:2}") int ioThreads,
+            @Value("${hedera.mirror.delivery-threads:4}") int deliveryThreads) {
+
+        // mirror node 요청은 소수의 공유 스레드/연결에서 처리
+        ExecutorService ioExecutor = Executors.newFixedThreadPool(ioThreads, daemonThreadFactory("mirror-io-"));
+        ExecutorService deliveryExecutor = Executors.newFixedThreadPool(deliveryThreads, daemonThreadFactory("mirror-delivery-"));
+
+        MirrorRestTopicMessageSource source =
+                new MirrorRestTopicMessageSource(restUrls, ioExecutor, objectMapper, Duration.ofSeconds(10));
+
+        return new TopicSubscriptionMultiplexer(
+                source,
+                new TopicSubscriptionMultiplexer.Settings(pageSize, minPollInterval, maxPollInterval, maxInFlight,
+                        perTopicBudgetBytes, maxRequestsPerSecond, maxIdleLag),
+                deliveryExecutor);
+    }
+
+    /**
+     * endpoint 마다 Client(gRPC 채널)와 점검 스레드를 만들므로, 주입받는 곳이 있을 때만 생성합니다.
+     * 기본 endpoint 는 Hedera 가 운영하는 testnet mirror node 의 TLS(443)/평문(5600) gRPC 주소입니다.
+     * 운영자가 같아 장애가 함께 날 수 있으므로, 실제 운영에서는 다른 운영자의 mirror node 를 추가합니다.
+     */
+    @Lazy
+    @Bean(destroyMethod = "close")
+    public HedgedTopicSubscriber hedgedTopicSubscriber(
+            @Value("${hedera.mirror.hedge.endpoints:testnet.mirrornode.hedera.com:443,hcs.testnet.mirrornode.hedera.com:5600}") List<String> endpoints,
+            @Value("${hedera.mirror.hedge.window-size:4096}") int windowSize,
+            @Value("${hedera.mirror.hedge.max-lag:2s}") Duration maxLag,
+            @Value("${hedera.mirror.hedge.max-sequence-lag:50}") long maxSequenceLag,
+            @Value("${hedera.mirror.hedge.probation:1m}") Duration probation,
+            @Value("${hedera.mirror.hedge.check-interval:1s}") Duration checkInterval) throws InterruptedException {
+
+        List<MirrorMessageStream> streams = new ArrayList<>(endpoints.size());
+
+        for (String endpoint : endpoints)
+            streams.add(new SdkMirrorMessageStream(endpoint));
+
+        return new HedgedTopicSubscriber(
+                streams,
+                new HedgedTopicSubscriber.Settings(windowSize, maxLag, maxSequenceLag, probation, checkInterval));
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
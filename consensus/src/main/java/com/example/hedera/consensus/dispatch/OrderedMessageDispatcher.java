@@ -0,0 +1,380 @@
+package com.example.hedera.consensus.dispatch;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * 구독 콜백과 사용자 handler 사이에서 메시지를 worker pool 로 분배하는 dispatcher.
+ * <ul>
+ *      <li>같은 키의 메시지는 항상 같은 worker 가 수신 순서대로 처리합니다.</li>
+ *      <li>worker 별 큐는 크기가 제한되어 있으며, 큐가 가득 차면 {@link #dispatch(Object)} 가 block 됩니다.
+ *      SDK 콜백 스레드가 block 되면 gRPC flow control 에 의해 mirror node 스트림도 함께 느려집니다.</li>
+ *      <li>checkpoint 는 처리가 끝나지 않은 가장 낮은 sequence number 직전까지만 commit 됩니다.
+ *      commit 콜백은 전용 committer 스레드에서 한 번에 하나씩 호출되며, 항상 그 시점의 최신 checkpoint 만 전달합니다.
+ *      worker 는 commit 을 기다리지 않으므로 느린 저장소가 메시지 처리나 dispatch 를 막지 않습니다.
+ *      commit 이 실패하면 retryBackoff 후 최신 checkpoint 로 다시 시도합니다.</li>
+ *      <li>handler 에서 예외나 {@link Error} 가 발생하면 같은 worker 에서 retryBackoff 간격(매번 2배)으로 최대 maxAttempts 번까지 재시도합니다.
+ *      재시도하는 동안 그 worker 의 다른 메시지는 대기하므로 키 단위 순서가 유지됩니다.
+ *      모두 실패하거나 재시도 대기 중 인터럽트되면 해당 키를 중단(stop)합니다. 중단된 키의 이후 메시지는 handler 에 전달되지 않고,
+ *      실패한 메시지와 함께 완료로 처리되지 않으므로 checkpoint 는 실패한 메시지 이전에 머무릅니다.
+ *      재시작하면 checkpoint 이후부터 다시 구독하여 처리할 수 있습니다.</li>
+ *      <li>worker 는 {@link #close()} 로만 종료되며, 인터럽트되어도 큐를 계속 소비합니다.
+ *      close 이후의 dispatch 는 {@link IllegalStateException} 으로 거절되고, close 이전에 큐에 들어간 메시지는 모두 처리됩니다.</li>
+ * </ul>
+ * <pre>{@code
+ * OrderedMessageDispatcher<TopicMessage> dispatcher = new OrderedMessageDispatcher<>(
+ *         8, 1_000, this::keyOf, message -> message.sequenceNumber, this::handle, checkpointStore::save);
+ * consensusHelper.getTopicMessages(topicId, startTime, null, dispatcher::dispatch);
+ * }</pre>
+ *
+ * @param <T> 메시지 타입
+ */
+@Slf4j
+public class OrderedMessageDispatcher<T> implements AutoCloseable {
+    private static final Object POISON = new Object();
+    private static final Object NULL_KEY = new Object();
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final Duration DEFAULT_RETRY_BACKOFF = Duration.ofMillis(100);
+
+    private final Function<T, ?> keyExtractor;
+    private final ToLongFunction<T> sequenceExtractor;
+    private final Consumer<T> handler;
+    private final LongConsumer checkpointCommitter;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    private final List<BlockingQueue<Object>> queues;
+    private final List<Thread> workers;
+    private final Thread committer;
+
+    // dispatch 는 read lock, close 는 write lock - close 이후에는 큐에 넣지 않음
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    // checkpoint 계산용 - progressLock 으로 보호
+    private final Object progressLock = new Object();
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private long highestDispatched = -1;
+    private long checkpoint = -1;
+    private long committed = -1;
+    private boolean workersDone;
+    private long failedCount;
+
+    // 재시도 후에도 실패한 키 - worker 스레드에서만 추가
+    private final Set<Object> stoppedKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param workerCount         worker 수
+     * @param queueCapacity       worker 별 큐 크기
+     * @param keyExtractor        순서 보장 단위 키 추출 함수
+     * @param sequenceExtractor   sequence number 추출 함수 - 구독 스트림 내에서 증가해야 합니다.
+     * @param handler             사용자 handler
+     * @param checkpointCommitter checkpoint commit 콜백 - 처리 완료된 가장 높은 연속 sequence number 가 전달됩니다.
+     */
+    public OrderedMessageDispatcher(int workerCount,
+                                    int queueCapacity,
+                                    @NonNull Function<T, ?> keyExtractor,
+                                    @NonNull ToLongFunction<T> sequenceExtractor,
+                                    @NonNull Consumer<T> handler,
+                                    @NonNull LongConsumer checkpointCommitter) {
+        this(workerCount, queueCapacity, keyExtractor, sequenceExtractor, handler, checkpointCommitter,
+                DEFAULT_MAX_ATTEMPTS, DEFAULT_RETRY_BACKOFF);
+    }
+
+    /**
+     * @param workerCount         worker 수
+     * @param queueCapacity       worker 별 큐 크기
+     * @param keyExtractor        순서 보장 단위 키 추출 함수
+     * @param sequenceExtractor   sequence number 추출 함수 - 구독 스트림 내에서 증가해야 합니다.
+     * @param handler             사용자 handler
+     * @param checkpointCommitter checkpoint commit 콜백 - 처리 완료된 가장 높은 연속 sequence number 가 전달됩니다.
+     * @param maxAttempts         handler 최대 시도 횟수 - 모두 실패하면 해당 키를 중단합니다.
+     * @param retryBackoff        첫 재시도 대기 시간, checkpoint commit 재시도 간격
+     */
+    public OrderedMessageDispatcher(int workerCount,
+                                    int queueCapacity,
+                                    @NonNull Function<T, ?> keyExtractor,
+                                    @NonNull ToLongFunction<T> sequenceExtractor,
+                                    @NonNull Consumer<T> handler,
+                                    @NonNull LongConsumer checkpointCommitter,
+                                    int maxAttempts,
+                                    @NonNull Duration retryBackoff) {
+        if (workerCount <= 0)
+            throw new IllegalArgumentException("workerCount must be positive");
+        if (queueCapacity <= 0)
+            throw new IllegalArgumentException("queueCapacity must be positive");
+        if (maxAttempts <= 0)
+            throw new IllegalArgumentException("maxAttempts must be positive");
+
+        this.keyExtractor = keyExtractor;
+        this.sequenceExtractor = sequenceExtractor;
+        this.handler = handler;
+        this.checkpointCommitter = checkpointCommitter;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.queues = new ArrayList<>(workerCount);
+        this.workers = new ArrayList<>(workerCount);
+
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+            Thread worker = new Thread(() -> work(queue), "ordered-dispatcher-" + i);
+            worker.setDaemon(true);
+
+            queues.add(queue);
+            workers.add(worker);
+            worker.start();
+        }
+
+        this.committer = new Thread(this::commitLoop, "ordered-dispatcher-committer");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * 메시지를 키에 해당하는 worker 큐에 넣습니다. 큐가 가득 차면 자리가 날 때까지 block 됩니다.
+     *
+     * @param message message
+     * @throws IllegalStateException 이미 close 된 경우
+     */
+    public void dispatch(@NonNull T message) {
+        long sequence = sequenceExtractor.applyAsLong(message);
+        BlockingQueue<Object> queue = queueOf(keyExtractor.apply(message));
+
+        closeLock.readLock().lock();
+
+        try {
+            if (closed)
+                throw new IllegalStateException("Dispatcher is closed");
+
+            synchronized (progressLock) {
+                inFlight.add(sequence);
+                highestDispatched = Math.max(highestDispatched, sequence);
+            }
+
+            try {
+                queue.put(message);
+            } catch (InterruptedException e) {
+                synchronized (progressLock) {
+                    inFlight.remove(sequence);
+                }
+
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while dispatching message " + sequence, e);
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return 마지막으로 commit 된 checkpoint, 없으면 -1
+     */
+    public long getCommittedCheckpoint() {
+        synchronized (progressLock) {
+            return committed;
+        }
+    }
+
+    /**
+     * @return 재시도 후에도 실패했거나 중단된 키라서 처리하지 않은 메시지 수
+     */
+    public long getFailedCount() {
+        synchronized (progressLock) {
+            return failedCount;
+        }
+    }
+
+    /**
+     * @return 재시도 후에도 실패하여 중단된 키 수
+     */
+    public int getStoppedKeyCount() {
+        return stoppedKeys.size();
+    }
+
+    /**
+     * 새 메시지 수신을 중단하고 이미 큐에 들어간 메시지를 모두 처리한 뒤 worker 를 종료합니다.
+     * 마지막 checkpoint 를 commit 한 뒤 반환합니다.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        // 진행 중인 dispatch 가 끝난 뒤 closed 로 바뀌므로 POISON 뒤에 메시지가 들어가지 않음
+        closeLock.writeLock().lock();
+
+        try {
+            if (closed)
+                return;
+
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+
+        for (BlockingQueue<Object> queue : queues)
+            queue.put(POISON);
+
+        for (Thread worker : workers)
+            worker.join();
+
+        synchronized (progressLock) {
+            workersDone = true;
+            progressLock.notifyAll();
+        }
+
+        committer.join();
+    }
+
+    private BlockingQueue<Object> queueOf(Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+
+        return queues.get(Math.floorMod(hash ^ (hash >>> 16), queues.size()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void work(BlockingQueue<Object> queue) {
+        while (true) {
+            Object item;
+
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                // worker 가 종료되면 큐에 남은 메시지와 dispatch 가 block 되므로 close 의 POISON 으로만 종료
+                log.warn("Ignoring interrupt of dispatcher worker {}", Thread.currentThread().getName());
+                continue;
+            }
+
+            if (item == POISON)
+                return;
+
+            try {
+                process((T) item);
+            } catch (Throwable e) {
+                log.error("Unexpected failure while processing message", e);
+                recordFailure();
+            }
+        }
+    }
+
+    private void process(T message) {
+        long sequence = sequenceExtractor.applyAsLong(message);
+        Object key = keyExtractor.apply(message);
+        Object stopKey = key == null ? NULL_KEY : key;
+
+        if (stoppedKeys.contains(stopKey)) {
+            log.warn("Skipping message {} of stopped key {}", sequence, key);
+            recordFailure();
+            return;
+        }
+
+        long backoffNanos = retryBackoff.toNanos();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                handler.accept(message);
+                break;
+            } catch (Throwable e) {
+                if (attempt >= maxAttempts) {
+                    log.error("Failed to handle message {} after {} attempts, stopping key {}", sequence, attempt, key, e);
+                    stopKey(stopKey);
+                    return;
+                }
+
+                log.warn("Failed to handle message {} (attempt {}/{}), retrying: {}", sequence, attempt, maxAttempts, e.toString());
+
+                try {
+                    TimeUnit.NANOSECONDS.sleep(backoffNanos);
+                } catch (InterruptedException interrupted) {
+                    log.error("Interrupted while retrying message {}, stopping key {}", sequence, key, e);
+                    stopKey(stopKey);
+                    return;
+                }
+
+                backoffNanos *= 2;
+            }
+        }
+
+        complete(sequence);
+    }
+
+    private void stopKey(Object stopKey) {
+        stoppedKeys.add(stopKey);
+        recordFailure();
+    }
+
+    private void recordFailure() {
+        synchronized (progressLock) {
+            failedCount++;
+        }
+    }
+
+    private void complete(long sequence) {
+        synchronized (progressLock) {
+            inFlight.remove(sequence);
+            checkpoint = Math.max(checkpoint, inFlight.isEmpty() ? highestDispatched : inFlight.first() - 1);
+
+            if (checkpoint > committed)
+                progressLock.notifyAll();
+        }
+    }
+
+    // committer 스레드 - 최신 checkpoint 만 lock 밖에서 commit
+    private void commitLoop() {
+        while (true) {
+            long next;
+            boolean last;
+
+            synchronized (progressLock) {
+                try {
+                    while (checkpoint <= committed && !workersDone)
+                        progressLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                if (checkpoint <= committed)
+                    return;
+
+                next = checkpoint;
+                last = workersDone;
+            }
+
+            try {
+                checkpointCommitter.accept(next);
+
+                synchronized (progressLock) {
+                    committed = next;
+                }
+            } catch (Throwable e) {
+                log.error("Failed to commit checkpoint {}", next, e);
+
+                if (last)
+                    return;
+
+                synchronized (progressLock) {
+                    try {
+                        progressLock.wait(Math.max(1, retryBackoff.toMillis()));
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.hedera.consensus.helper;
 
 import com.example.hedera.common.vo.HederaTransactionResponseVo;
+import com.example.hedera.consensus.vo.MessageReceiptVo;
 import com.example.hedera.consensus.vo.MessageResponseVo;
+import com.example.hedera.consensus.vo.MessageSubmitResponseVo;
+import com.example.hedera.consensus.vo.TopicMessageVo;
 import com.example.hedera.consensus.vo.TopicResponseVo;
 import com.hedera.hashgraph.sdk.*;
 import lombok.NonNull;
@@ -9,6 +12,7 @@ import lombok.NonNull;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 public interface ConsensusHelper {
     /**
@@ -233,10 +237,36 @@ public interface ConsensusHelper {
      */
     TopicInfo getTopicInfo(String topicId) throws PrecheckStatusException, TimeoutException;
 
+    /**
+     * 토픽 메시지 구독 - 수신한 메시지를 표준 출력으로 출력합니다.
+     * <p>
+     * subscribeStartTime 은 subscribeEndTime 과 관계없이 지정하면 적용됩니다.
+     * 이전에는 subscribeEndTime 이 있을 때만 시작 시점이 적용되어, 종료 시점 없이 호출하면 시작 시점이 무시되었습니다.
+     * </p>
+     *
+     * @param topicId            topicId
+     * @param subscribeStartTime 구독 시작 시점(선택 사항)
+     * @param subscribeEndTime   구독 종료 시점(선택 사항)
+     */
     void getTopicMessages(String topicId,
                           Instant subscribeStartTime,
                           Instant subscribeEndTime);
 
+    /**
+     * 토픽 메시지 구독.
+     * <p>mirror node 로부터 수신한 메시지를 consensus timestamp 순서대로 onMessage 에 전달합니다.</p>
+     *
+     * @param topicId            topicId
+     * @param subscribeStartTime 구독 시작 시점(선택 사항)
+     * @param subscribeEndTime   구독 종료 시점(선택 사항)
+     * @param onMessage          메시지 수신 콜백 - SDK 콜백 스레드에서 호출됩니다.
+     * @return SubscriptionHandle - unsubscribe() 로 구독을 해지합니다.
+     */
+    SubscriptionHandle getTopicMessages(@NonNull String topicId,
+                                        Instant subscribeStartTime,
+                                        Instant subscribeEndTime,
+                                        @NonNull Consumer<TopicMessage> onMessage);
+
     /**
      * submit Message.
      * <p>
@@ -256,4 +286,107 @@ public interface ConsensusHelper {
                                                                  Integer maxChuncks)
             throws PrecheckStatusException, TimeoutException, ReceiptStatusException;
 
+    /**
+     * hedged submit Message.
+     * <p>
+     * 메시지를 한 노드로 전송하고, 설정된 지연(hedera.hedge.delay) 안에 응답이 없으면 같은 TransactionId 로 다른 노드에도 전송합니다.
+     * 먼저 precheck 를 통과한 응답의 영수증을 반환합니다. hedged 전송은 hedera.hedge.budget-ratio 비율 이내로 제한됩니다.
+     * </p>
+     *
+     * @param topicId  topicId
+     * @param message  message - 최대 크기 1024byte(1kb), 단일 chunk 로 전송됩니다.
+     * @param critical true 이면 지연 없이 바로 두 노드로 전송합니다.
+     * @return HederaTransactionResponseVo<MessageResponseVo>
+     * @throws PrecheckStatusException PrecheckStatusException
+     * @throws TimeoutException        TimeoutException
+     * @throws ReceiptStatusException  ReceiptStatusException
+     */
+    HederaTransactionResponseVo<MessageResponseVo> submitMessageHedged(@NonNull String topicId,
+                                                                       @NonNull String message,
+                                                                       boolean critical)
+            throws PrecheckStatusException, TimeoutException, ReceiptStatusException;
+
+    /**
+     * submit Message without receipt.
+     * <p>
+     * 노드의 사전 검사(precheck)를 통과하면 영수증을 조회하지 않고 바로 반환합니다.
+     * consensus 도달 여부는 반환된 transactionId 로 mirror node 구독에서 확인해야 합니다.
+     * </p>
+     *
+     * @param topicId topicId
+     * @param message message - 최대 크기 1024byte(1kb)
+     * @return MessageSubmitResponseVo
+     * @throws PrecheckStatusException PrecheckStatusException
+     * @throws TimeoutException        TimeoutException
+     */
+    MessageSubmitResponseVo submitMessageWithoutReceipt(@NonNull String topicId,
+                                                        @NonNull String message)
+            throws PrecheckStatusException, TimeoutException;
+
+    /**
+     * submit Message without receipt, 지정한 transactionId 로 전송.
+     * <p>
+     * 확인되지 않은 메시지를 같은 transactionId 로 재전송할 때 사용합니다. 네트워크가 transactionId 로 중복을 제거하므로
+     * 이전 전송이 이미 도달했더라도 토픽에 두 번 기록되지 않습니다. transactionId 의 유효 기간 안에서만 사용할 수 있습니다.
+     * 노드가 DUPLICATE_TRANSACTION 으로 거절하면 이미 네트워크에 제출된 것이므로 duplicate 로 표시하여 반환합니다.
+     * 전송 전에 transactionId 를 알아야 할 때는 {@link #newTransactionId()} 로 만든 transactionId 로 첫 전송에도 사용할 수 있습니다.
+     * </p>
+     *
+     * @param topicId       topicId
+     * @param message       message - 최대 크기 1024byte(1kb)
+     * @param transactionId 사용할 transactionId
+     * @return MessageSubmitResponseVo
+     * @throws PrecheckStatusException PrecheckStatusException
+     * @throws TimeoutException        TimeoutException
+     */
+    MessageSubmitResponseVo submitMessageWithoutReceipt(@NonNull String topicId,
+                                                        @NonNull String message,
+                                                        @NonNull String transactionId)
+            throws PrecheckStatusException, TimeoutException;
+
+    /**
+     * operator 계정으로 새 transactionId 생성.
+     *
+     * @return transactionId
+     */
+    String newTransactionId();
+
+    /**
+     * 이미 제출된 메시지의 transaction record 를 조회합니다.
+     * <p>
+     * consensus 에 도달할 때까지 기다리며, record 에는 메시지 본문이 없으므로 전송한 message 로 채워 반환합니다.
+     * record 조회는 수수료가 부과되므로 구독으로 확인할 수 없는 경우에만 사용합니다.
+     * </p>
+     *
+     * @param topicId       topicId
+     * @param message       전송한 message
+     * @param transactionId transactionId
+     * @return TopicMessageVo
+     * @throws PrecheckStatusException PrecheckStatusException
+     * @throws TimeoutException        TimeoutException
+     * @throws ReceiptStatusException  트랜잭션 영수증 상태가 실패로 반환될 경우 발생합니다.
+     */
+    TopicMessageVo getSubmittedMessage(@NonNull String topicId,
+                                       @NonNull String message,
+                                       @NonNull String transactionId)
+            throws PrecheckStatusException, TimeoutException, ReceiptStatusException;
+
+    /**
+     * submit Message (lean).
+     * <p>
+     * submitMessage 와 같이 영수증까지 확인하지만, 결과에 메시지 본문을 담지 않고 식별자와 sequence number 만 반환합니다.
+     * 대량 전송 시 요청당 할당을 줄이기 위한 경로이며, 메시지는 단일 chunk 로 전송됩니다.
+     * </p>
+     *
+     * @param topicId topicId
+     * @param message message - 최대 크기 1024byte(1kb)
+     * @return MessageReceiptVo
+     * @throws PrecheckStatusException PrecheckStatusException
+     * @throws TimeoutException        TimeoutException
+     * @throws ReceiptStatusException  ReceiptStatusException
+     */
+    MessageReceiptVo submitMessageLean(@NonNull String topicId,
+                                       @NonNull String message)
+            throws PrecheckStatusException, TimeoutException, ReceiptStatusException;
+
 }
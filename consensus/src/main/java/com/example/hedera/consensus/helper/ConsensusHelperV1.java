@@ -1,9 +1,16 @@
 package com.example.hedera.consensus.helper;
 
 import com.example.hedera.common.core.AbstractHederaHelper;
+import com.example.hedera.common.core.HedgedTransactionExecutor;
+import com.example.hedera.common.startup.StartupMetrics;
+import com.example.hedera.common.utils.HederaResponseUtils;
 import com.example.hedera.common.vo.HederaTransactionResponseVo;
+import com.example.hedera.consensus.vo.MessageReceiptVo;
 import com.example.hedera.consensus.vo.MessageResponseVo;
+import com.example.hedera.consensus.vo.MessageSubmitResponseVo;
+import com.example.hedera.consensus.vo.TopicMessageVo;
 import com.example.hedera.consensus.vo.TopicResponseVo;
+import com.google.protobuf.ByteString;
 import com.hedera.hashgraph.sdk.*;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -15,19 +22,28 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 @Slf4j
 @Component
 public class ConsensusHelperV1 extends AbstractHederaHelper implements ConsensusHelper {
-
     private final Client client;
     private final AccountId accountId;
     private final PrivateKey privateKey;
+    private final HedgedTransactionExecutor hedgedTransactionExecutor;
+    private final StartupMetrics startupMetrics;
+    private final TopicIdCache topicIds;
 
     public ConsensusHelperV1(Client client,
+                             HedgedTransactionExecutor hedgedTransactionExecutor,
+                             StartupMetrics startupMetrics,
                              @Value("${hedera.account-id}") String accountId,
-                             @Value("${hedera.private-key}") String privateKey) {
+                             @Value("${hedera.private-key}") String privateKey,
+                             @Value("${hedera.topic-id-cache-size:16384}") int topicIdCacheSize) {
         this.client = client;
+        this.topicIds = new TopicIdCache(topicIdCacheSize);
+        this.hedgedTransactionExecutor = hedgedTransactionExecutor;
+        this.startupMetrics = startupMetrics;
         this.accountId = AccountId.fromString(accountId);
         this.privateKey = PrivateKey.fromString(privateKey);
     }
@@ -258,14 +274,8 @@ public class ConsensusHelperV1 extends AbstractHederaHelper implements Consensus
                                                                         Integer maxChuncks)
             throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
 
-        // Check if the message exceeds 1KB
-        if (message.getBytes(StandardCharsets.UTF_8).length > 1024)
-            throw new IllegalArgumentException("Message size exceeds 1KB limit");
-
-        //Create the transaction
-        TopicMessageSubmitTransaction transaction = new TopicMessageSubmitTransaction()
-                .setTopicId(getTopicId(topicId))
-                .setMessage(message);
+        //Create the transaction, the encoder rejects messages over 1KB
+        TopicMessageSubmitTransaction transaction = newSubmitTransaction(getTopicId(topicId), message);
 
         if (chunkSize != null) transaction.setChunkSize(chunkSize);
         if (maxChuncks != null) transaction.setMaxAttempts(maxChuncks);
@@ -284,7 +294,130 @@ public class ConsensusHelperV1 extends AbstractHederaHelper implements Consensus
         if (!Status.SUCCESS.equals(receipt.status))
             throw new RuntimeException("Failed submit message");
 
-        return makeTransactionResponse(receipt, new MessageResponseVo(topicId, message, receipt.topicSequenceNumber));
+        startupMetrics.recordFirstSuccess("submit");
+
+        return toMessageResponse(topicId, message, receipt);
+    }
+
+
+    @Override
+    public HederaTransactionResponseVo<MessageResponseVo> submitMessageHedged(@NonNull String topicId,
+                                                                              @NonNull String message,
+                                                                              boolean critical)
+            throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
+
+        // The encoder rejects messages over 1KB (single chunk)
+        ByteString contents = TopicMessageEncoder.encode(message);
+        TopicId id = getTopicId(topicId);
+
+        // Each node gets its own copy sharing one TransactionId, the network de-duplicates the slower one.
+        // The receipt is requested by TransactionId, so it resolves whichever copy reached consensus
+        TransactionReceipt receipt = hedgedTransactionExecutor.execute(
+                () -> new TopicMessageSubmitTransaction()
+                        .setTopicId(id)
+                        .setMessage(contents),
+                critical);
+
+        // The executor validates the receipt status and throws ReceiptStatusException on failure
+        log.debug("The transaction consensus status is " + receipt.status);
+
+        startupMetrics.recordFirstSuccess("submit");
+
+        return toMessageResponse(topicId, message, receipt);
+    }
+
+
+    @Override
+    public MessageSubmitResponseVo submitMessageWithoutReceipt(@NonNull String topicId,
+                                                               @NonNull String message)
+            throws PrecheckStatusException, TimeoutException {
+
+        //Create the transaction, the encoder rejects messages over 1KB
+        TopicMessageSubmitTransaction transaction = newSubmitTransaction(getTopicId(topicId), message);
+
+        // Returns as soon as the node accepts the transaction at precheck, no receipt query
+        TransactionResponse txResponse = transaction.execute(client);
+
+        return new MessageSubmitResponseVo(topicId, txResponse.transactionId.toString());
+    }
+
+
+    @Override
+    public MessageSubmitResponseVo submitMessageWithoutReceipt(@NonNull String topicId,
+                                                               @NonNull String message,
+                                                               @NonNull String transactionId)
+            throws PrecheckStatusException, TimeoutException {
+
+        // Re-use the previous transaction ID so the network de-duplicates the message
+        TopicMessageSubmitTransaction transaction = newSubmitTransaction(getTopicId(topicId), message)
+                .setTransactionId(TransactionId.fromString(transactionId))
+                .setRegenerateTransactionId(false);
+
+        try {
+            transaction.execute(client);
+        } catch (PrecheckStatusException e) {
+            if (e.status != Status.DUPLICATE_TRANSACTION)
+                throw e;
+
+            log.debug("Transaction {} was already submitted", transactionId);
+            return new MessageSubmitResponseVo(topicId, transactionId, true);
+        }
+
+        return new MessageSubmitResponseVo(topicId, transactionId);
+    }
+
+
+    @Override
+    public String newTransactionId() {
+        return TransactionId.generate(client.getOperatorAccountId()).toString();
+    }
+
+
+    @Override
+    public TopicMessageVo getSubmittedMessage(@NonNull String topicId,
+                                              @NonNull String message,
+                                              @NonNull String transactionId)
+            throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
+
+        TransactionRecord record = new TransactionRecordQuery()
+                .setTransactionId(TransactionId.fromString(transactionId))
+                .execute(client);
+
+        TransactionReceipt receipt = record.receipt.validateStatus(true);
+
+        return new TopicMessageVo(
+                topicId,
+                receipt.topicSequenceNumber != null ? receipt.topicSequenceNumber : -1,
+                record.consensusTimestamp,
+                message.getBytes(StandardCharsets.UTF_8),
+                receipt.topicRunningHash != null ? receipt.topicRunningHash.toByteArray() : null,
+                transactionId
+        );
+    }
+
+
+    @Override
+    public MessageReceiptVo submitMessageLean(@NonNull String topicId,
+                                              @NonNull String message)
+            throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
+
+        TopicId id = getTopicId(topicId);
+
+        //Create the transaction, the encoder rejects messages over 1KB
+        TopicMessageSubmitTransaction transaction = newSubmitTransaction(id, message);
+
+        // Sign with the client operator key and submit transaction to a Hedera network, get transaction ID
+        TransactionResponse txResponse = transaction.execute(client);
+
+        // Request the receipt of the transaction
+        TransactionReceipt receipt = txResponse.getReceipt(client);
+
+        if (!Status.SUCCESS.equals(receipt.status))
+            throw new RuntimeException("Failed submit message");
+
+        startupMetrics.recordFirstSuccess("submit");
+
+        return toMessageReceipt(id, txResponse.transactionId, receipt);
     }
 
 
@@ -308,16 +441,24 @@ public class ConsensusHelperV1 extends AbstractHederaHelper implements Consensus
     public void getTopicMessages(String topicId,
                                  Instant subscribeStartTime,
                                  Instant subscribeEndTime) {
+        getTopicMessages(topicId, subscribeStartTime, subscribeEndTime, topicMessage -> {
+            System.out.println("at " + topicMessage.consensusTimestamp + " ( seq = " + topicMessage.sequenceNumber + " ) received topic message of " + topicMessage.contents.length + " bytes");
+        });
+    }
+
+    @Override
+    public SubscriptionHandle getTopicMessages(@NonNull String topicId,
+                                               Instant subscribeStartTime,
+                                               Instant subscribeEndTime,
+                                               @NonNull Consumer<TopicMessage> onMessage) {
         //Create the query
         TopicMessageQuery topicMessageQuery = new TopicMessageQuery()
-                .setTopicId(TopicId.fromString(topicId));
+                .setTopicId(getTopicId(topicId));
 
-        if (subscribeEndTime != null) topicMessageQuery.setStartTime(subscribeStartTime);
+        if (subscribeStartTime != null) topicMessageQuery.setStartTime(subscribeStartTime);
         if (subscribeEndTime != null) topicMessageQuery.setEndTime(subscribeEndTime);
 
-        topicMessageQuery.subscribe(client, topicMessage -> {
-            System.out.println("at " + topicMessage.consensusTimestamp + " ( seq = " + topicMessage.sequenceNumber + " ) received topic message of " + topicMessage.contents.length + " bytes");
-        });
+        return topicMessageQuery.subscribe(client, onMessage);
     }
 
     private TopicCreateTransaction getTopicCreateTransaction(Key adminKey,
@@ -338,7 +479,26 @@ public class ConsensusHelperV1 extends AbstractHederaHelper implements Consensus
     }
 
     private TopicId getTopicId(@NonNull String topicId) {
-        return TopicId.fromString(topicId);
+        return topicIds.get(topicId);
+    }
+
+    // 메시지 전송의 인코딩/결과 생성 경로 - 네트워크 호출과 분리하여 SubmitAllocationBenchmark 에서 그대로 측정
+    static TopicMessageSubmitTransaction newSubmitTransaction(TopicId topicId, String message) {
+        return new TopicMessageSubmitTransaction()
+                .setTopicId(topicId)
+                .setMessage(TopicMessageEncoder.encode(message));
+    }
+
+    static HederaTransactionResponseVo<MessageResponseVo> toMessageResponse(String topicId,
+                                                                            String message,
+                                                                            TransactionReceipt receipt) {
+        return HederaResponseUtils.makeResponse(receipt, new MessageResponseVo(topicId, message, receipt.topicSequenceNumber));
+    }
+
+    static MessageReceiptVo toMessageReceipt(TopicId topicId, TransactionId transactionId, TransactionReceipt receipt) {
+        return new MessageReceiptVo(topicId,
+                transactionId,
+                receipt.topicSequenceNumber != null ? receipt.topicSequenceNumber : -1);
     }
 
     private PrivateKey getPrivateKey(@NonNull String privateKey) {
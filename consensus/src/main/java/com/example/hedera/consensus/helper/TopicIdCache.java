@@ -0,0 +1,58 @@
+package com.example.hedera.consensus.helper;
+
+import com.hedera.hashgraph.sdk.TopicId;
+import lombok.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 토픽 ID 문자열의 파싱 결과를 재사용하는 LRU 캐시.
+ * <p>
+ * TopicId 는 불변이므로 공유할 수 있습니다. maxSize 를 넘으면 가장 오래 사용하지 않은 항목부터 제거하므로,
+ * 사용 중인 토픽 수가 maxSize 보다 많아도 캐시 전체가 비워지지 않습니다. maxSize 가 0 이면 캐시하지 않습니다.
+ */
+class TopicIdCache {
+    private final int maxSize;
+    private final Map<String, TopicId> topicIds;
+
+    TopicIdCache(int maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException("maxSize must not be negative");
+
+        this.maxSize = maxSize;
+        this.topicIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TopicId> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    TopicId get(@NonNull String topicId) {
+        if (maxSize == 0)
+            return TopicId.fromString(topicId);
+
+        synchronized (topicIds) {
+            TopicId cached = topicIds.get(topicId);
+
+            if (cached != null)
+                return cached;
+        }
+
+        // 파싱은 lock 밖에서 수행 - 동시에 파싱되어도 같은 값이므로 마지막 값이 남음
+        TopicId parsed = TopicId.fromString(topicId);
+
+        synchronized (topicIds) {
+            topicIds.put(topicId, parsed);
+        }
+
+        return parsed;
+    }
+
+    int size() {
+        synchronized (topicIds) {
+            return topicIds.size();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.hedera.consensus.helper;
+
+import com.google.protobuf.ByteString;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 토픽 메시지를 UTF-8 로 인코딩합니다.
+ * <p>
+ * 스레드별로 encoder, 문자 버퍼, 1kb 바이트 버퍼를 재사용하여 크기 검사와 인코딩을 한 번에 수행합니다.
+ * 메시지 문자는 재사용하는 문자 버퍼로 복사하므로 호출마다 새로 할당하는 것은 결과 ByteString 뿐입니다.
+ * 인코딩할 수 없는 문자는 {@link String#getBytes} 와 같이 대체 문자로 바뀝니다.
+ */
+@UtilityClass
+public class TopicMessageEncoder {
+    /**
+     * 단일 chunk 메시지 최대 크기(byte)
+     */
+    public static final int MAX_MESSAGE_BYTES = 1024;
+
+    private static final ThreadLocal<CharsetEncoder> ENCODER = ThreadLocal.withInitial(() ->
+            StandardCharsets.UTF_8.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE));
+
+    // 1024 자를 넘는 메시지는 인코딩 전에 거절하므로 1024 자면 충분
+    private static final ThreadLocal<CharBuffer> CHARS = ThreadLocal.withInitial(() ->
+            CharBuffer.allocate(MAX_MESSAGE_BYTES));
+
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() ->
+            ByteBuffer.allocate(MAX_MESSAGE_BYTES));
+
+    /**
+     * @param message message
+     * @return UTF-8 로 인코딩된 메시지
+     * @throws IllegalArgumentException 메시지가 1kb 를 넘는 경우
+     */
+    public ByteString encode(@NonNull String message) {
+        // 문자당 최소 1byte 이므로 인코딩 전에 바로 판별 가능
+        if (message.length() > MAX_MESSAGE_BYTES)
+            throw new IllegalArgumentException("Message size exceeds 1KB limit");
+
+        CharsetEncoder encoder = ENCODER.get().reset();
+        CharBuffer chars = CHARS.get().clear();
+        ByteBuffer buffer = BUFFER.get().clear();
+
+        chars.put(message).flip();
+
+        CoderResult result = encoder.encode(chars, buffer, true);
+
+        if (result.isOverflow() || encoder.flush(buffer).isOverflow())
+            throw new IllegalArgumentException("Message size exceeds 1KB limit");
+
+        return ByteString.copyFrom(buffer.flip());
+    }
+}
@@ -0,0 +1,454 @@
+package com.example.hedera.consensus.publish;
+
+import com.example.hedera.consensus.helper.ConsensusHelper;
+import com.example.hedera.consensus.vo.MessageSubmitResponseVo;
+import com.example.hedera.consensus.vo.TopicMessageVo;
+import com.hedera.hashgraph.sdk.PrecheckStatusException;
+import com.hedera.hashgraph.sdk.ReceiptStatusException;
+import com.hedera.hashgraph.sdk.SubscriptionHandle;
+import com.hedera.hashgraph.sdk.TransactionId;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 영수증 없이 메시지를 전송하고 mirror node 구독으로 consensus 도달을 확인하는 publisher.
+ * <p>
+ * 메시지는 precheck 통과 즉시 반환되며, 토픽 구독에서 같은 transactionId 의 메시지를 수신하면 확인됩니다.
+ * transactionId 는 전송 전에 만들어 등록하므로, 전송이 반환되기 전에 구독으로 수신한 메시지도 확인됩니다.
+ * 수신한 메시지에 transactionId 가 없을 때만 같은 내용으로 대조하며, 첫 transactionId 의 validStart 이전에 consensus 에 도달한 메시지는 무시합니다.
+ * <p>
+ * confirmTimeout 안에 확인되지 않은 메시지는 별도 스레드에서 재전송하고, maxAttempts 를 넘으면 실패로 처리합니다.
+ * transactionId 가 유효 기간 안이면 같은 transactionId 로 재전송하여 네트워크가 중복을 제거하게 하고,
+ * 유효 기간이 지난 뒤에만 새 트랜잭션으로 전송합니다. 이 경우에만 토픽에 같은 내용이 두 번 기록될 수 있습니다(at-least-once).
+ * 노드가 DUPLICATE_TRANSACTION 으로 거절하면 이미 제출된 것이므로 재전송 횟수에 세지 않고 transaction record 를 조회하여 확인합니다.
+ * <p>
+ * sweeper 스레드와 토픽 구독은 첫 전송 시 시작되며, 토픽 구독은 미확인 메시지가 없는 상태로 idleTimeout 이 지나면 해지됩니다.
+ */
+@Slf4j
+@Component
+public class FireAndForgetPublisher implements AutoCloseable {
+    // 구독 시작 시점 여유 - 구독이 열리기 전에 consensus 에 도달한 메시지도 수신
+    private static final Duration SUBSCRIBE_LOOKBACK = Duration.ofSeconds(10);
+    // SDK 기본 트랜잭션 유효 기간
+    private static final Duration TRANSACTION_VALID_DURATION = Duration.ofSeconds(120);
+    // 같은 transactionId 로 재전송할 때 노드에 도달하기까지 남겨둘 유효 기간
+    private static final Duration RESUBMIT_MARGIN = Duration.ofSeconds(10);
+
+    private final ConsensusHelper consensusHelper;
+    private final Duration confirmTimeout;
+    private final int maxAttempts;
+    private final Duration idleTimeout;
+    private final Duration sweepInterval;
+    private final Executor resubmitExecutor;
+
+    // this 로 보호
+    private ScheduledExecutorService scheduler;
+    private final Map<String, PendingMessage> byTransactionId = new HashMap<>();
+    private final Map<String, TopicState> topics = new HashMap<>();
+
+    @Autowired
+    public FireAndForgetPublisher(ConsensusHelper consensusHelper,
+                                  @Value("${hedera.fire-and-forget.confirm-timeout:30s}") Duration confirmTimeout,
+                                  @Value("${hedera.fire-and-forget.max-attempts:3}") int maxAttempts,
+                                  @Value("${hedera.fire-and-forget.idle-timeout:5m}") Duration idleTimeout,
+                                  @Value("${hedera.fire-and-forget.sweep-interval:1s}") Duration sweepInterval,
+                                  @Value("${hedera.fire-and-forget.resubmit-threads:4}") int resubmitThreads) {
+        this(consensusHelper, confirmTimeout, maxAttempts, idleTimeout, sweepInterval,
+                Executors.newFixedThreadPool(resubmitThreads, runnable -> {
+                    Thread thread = new Thread(runnable, "fire-and-forget-resubmit");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    FireAndForgetPublisher(ConsensusHelper consensusHelper,
+                           Duration confirmTimeout,
+                           int maxAttempts,
+                           Duration idleTimeout,
+                           Duration sweepInterval,
+                           Executor resubmitExecutor) {
+        this.consensusHelper = consensusHelper;
+        this.resubmitExecutor = resubmitExecutor;
+        this.confirmTimeout = confirmTimeout;
+        this.maxAttempts = maxAttempts;
+        this.idleTimeout = idleTimeout;
+        this.sweepInterval = sweepInterval;
+    }
+
+    /**
+     * 메시지 전송. precheck 를 통과하면 바로 반환합니다.
+     *
+     * @param topicId topicId
+     * @param message message - 최대 크기 1024byte(1kb)
+     * @return PendingMessage - getConfirmation() 으로 consensus 도달 여부를 확인합니다.
+     * @throws PrecheckStatusException PrecheckStatusException
+     * @throws TimeoutException        TimeoutException
+     */
+    public PendingMessage publish(@NonNull String topicId, @NonNull String message)
+            throws PrecheckStatusException, TimeoutException {
+        PendingMessage pending = new PendingMessage(topicId, message, digest(message.getBytes(StandardCharsets.UTF_8)));
+        String transactionId = consensusHelper.newTransactionId();
+
+        synchronized (this) {
+            startSweeperIfNeeded();
+
+            // 첫 전송이 끝나기 전에 sweep 되어 재전송되지 않도록 기한을 먼저 설정
+            pending.deadlineNanos = System.nanoTime() + confirmTimeout.toNanos();
+            pending.firstValidStart = TransactionId.fromString(transactionId).validStart;
+            register(pending, transactionId);
+            ensureSubscribed(topicId).pending(pending.digest).add(pending);
+        }
+
+        try {
+            submit(pending);
+        } catch (PrecheckStatusException | TimeoutException | RuntimeException e) {
+            forget(pending);
+            throw e;
+        }
+
+        return pending;
+    }
+
+    /**
+     * @return 확인되지 않은 메시지 수
+     */
+    public synchronized int pendingCount() {
+        int count = 0;
+
+        for (TopicState state : topics.values())
+            for (ArrayDeque<PendingMessage> queue : state.byDigest.values())
+                count += queue.size();
+
+        return count;
+    }
+
+    @Override
+    public void close() {
+        if (resubmitExecutor instanceof ExecutorService executorService)
+            executorService.shutdownNow();
+
+        synchronized (this) {
+            if (scheduler != null)
+                scheduler.shutdownNow();
+
+            topics.values().forEach(state -> state.handle.unsubscribe());
+            topics.clear();
+        }
+    }
+
+    /**
+     * 구독으로 수신한 메시지와 미확인 메시지를 대조합니다.
+     */
+    void onMessage(TopicMessageVo message) {
+        PendingMessage confirmed = null;
+
+        synchronized (this) {
+            if (message.transactionId() != null) {
+                confirmed = byTransactionId.get(message.transactionId());
+            } else {
+                confirmed = findByContents(message);
+            }
+
+            if (confirmed != null)
+                remove(confirmed);
+        }
+
+        if (confirmed != null)
+            confirmed.confirmation.complete(message);
+    }
+
+    /**
+     * 확인 기한이 지난 메시지를 재전송하고, 유휴 토픽 구독을 해지합니다.
+     */
+    void sweep() {
+        long now = System.nanoTime();
+        List<PendingMessage> expired = new ArrayList<>();
+        List<PendingMessage> exhausted = new ArrayList<>();
+
+        synchronized (this) {
+            for (Iterator<TopicState> iterator = topics.values().iterator(); iterator.hasNext(); ) {
+                TopicState state = iterator.next();
+
+                if (state.byDigest.isEmpty()) {
+                    if (now - state.lastActivityNanos > idleTimeout.toNanos()) {
+                        state.handle.unsubscribe();
+                        iterator.remove();
+                    }
+                    continue;
+                }
+
+                state.lastActivityNanos = now;
+
+                for (ArrayDeque<PendingMessage> queue : state.byDigest.values()) {
+                    for (PendingMessage pending : queue) {
+                        if (now < pending.deadlineNanos)
+                            continue;
+
+                        if (pending.attempts >= maxAttempts) {
+                            exhausted.add(pending);
+                        } else {
+                            // 재전송이 끝날 때까지 다음 sweep 에서 다시 선택되지 않도록 기한을 미룸
+                            pending.deadlineNanos = now + confirmTimeout.toNanos();
+                            expired.add(pending);
+                        }
+                    }
+                }
+            }
+
+            exhausted.forEach(this::remove);
+        }
+
+        for (PendingMessage pending : exhausted)
+            pending.confirmation.completeExceptionally(new TimeoutException(
+                    "Message " + pending.transactionId + " not confirmed after " + pending.attempts + " attempts"));
+
+        // 전송은 노드 응답까지 block 되므로 sweeper 스레드 밖에서 수행
+        for (PendingMessage pending : expired)
+            resubmitExecutor.execute(() -> resubmit(pending));
+    }
+
+    private void resubmit(PendingMessage pending) {
+        if (pending.removed)
+            return;
+
+        boolean reuseTransactionId = Instant.now().plus(RESUBMIT_MARGIN).isBefore(pending.validUntil);
+
+        try {
+            if (!reuseTransactionId) {
+                String transactionId = consensusHelper.newTransactionId();
+
+                synchronized (this) {
+                    if (pending.removed)
+                        return;
+
+                    register(pending, transactionId);
+                }
+            }
+
+            log.debug("Re-submitting unconfirmed message {} to topic {} (same transaction: {})",
+                    pending.transactionId, pending.topicId, reuseTransactionId);
+            submit(pending);
+        } catch (PrecheckStatusException | TimeoutException | RuntimeException e) {
+            log.warn("Failed to re-submit message {} to topic {}: {}", pending.transactionId, pending.topicId, e.getMessage());
+            countAttempt(pending);
+        }
+    }
+
+    // 이미 제출된 transactionId - 구독을 기다리지 않고 record 로 확인
+    private void confirmSubmitted(PendingMessage pending, String transactionId) {
+        try {
+            complete(pending, consensusHelper.getSubmittedMessage(pending.topicId, pending.message, transactionId));
+        } catch (ReceiptStatusException e) {
+            // consensus 에서 실패한 트랜잭션은 재전송해도 같은 결과이므로 실패로 처리
+            synchronized (this) {
+                remove(pending);
+            }
+            pending.confirmation.completeExceptionally(e);
+        } catch (PrecheckStatusException | TimeoutException | RuntimeException e) {
+            log.warn("Failed to look up record of message {} to topic {}: {}", transactionId, pending.topicId, e.getMessage());
+            countAttempt(pending);
+        }
+    }
+
+    private void complete(PendingMessage pending, TopicMessageVo message) {
+        synchronized (this) {
+            if (pending.removed)
+                return;
+
+            remove(pending);
+        }
+
+        pending.confirmation.complete(message);
+    }
+
+    private synchronized void countAttempt(PendingMessage pending) {
+        pending.attempts++;
+        pending.deadlineNanos = System.nanoTime() + confirmTimeout.toNanos();
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.error("Failed to sweep unconfirmed messages", e);
+        }
+    }
+
+    private void submit(PendingMessage pending) throws PrecheckStatusException, TimeoutException {
+        MessageSubmitResponseVo response =
+                consensusHelper.submitMessageWithoutReceipt(pending.topicId, pending.message, pending.transactionId);
+
+        if (response.duplicate()) {
+            // record 조회는 consensus 까지 block 되므로 호출 스레드 밖에서 수행
+            resubmitExecutor.execute(() -> confirmSubmitted(pending, response.transactionId()));
+            return;
+        }
+
+        countAttempt(pending);
+    }
+
+    // 전송 전에 등록하여 전송이 반환되기 전에 수신한 메시지도 확인되도록 함
+    private void register(PendingMessage pending, String transactionId) {
+        pending.transactionIds.add(transactionId);
+        pending.transactionId = transactionId;
+        pending.validUntil = TransactionId.fromString(transactionId).validStart.plus(TRANSACTION_VALID_DURATION);
+        byTransactionId.put(transactionId, pending);
+    }
+
+    private void startSweeperIfNeeded() {
+        if (scheduler != null)
+            return;
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fire-and-forget-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sweepQuietly,
+                sweepInterval.toMillis(), sweepInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // transactionId 가 없는 메시지만 내용으로 대조 - 첫 transactionId 의 validStart 이전에 consensus 에 도달한 메시지는 다른 발신자의 것
+    private PendingMessage findByContents(TopicMessageVo message) {
+        TopicState state = topics.get(message.topicId());
+        ArrayDeque<PendingMessage> queue = state == null ? null : state.byDigest.get(digest(message.contents()));
+
+        if (queue == null)
+            return null;
+
+        for (PendingMessage pending : queue)
+            if (!message.consensusTimestamp().isBefore(pending.firstValidStart))
+                return pending;
+
+        return null;
+    }
+
+    private synchronized TopicState ensureSubscribed(String topicId) {
+        TopicState state = topics.get(topicId);
+
+        if (state != null) {
+            state.lastActivityNanos = System.nanoTime();
+            return state;
+        }
+
+        SubscriptionHandle handle = consensusHelper.getTopicMessages(topicId,
+                Instant.now().minus(SUBSCRIBE_LOOKBACK),
+                null,
+                topicMessage -> onMessage(TopicMessageVo.of(topicId, topicMessage)));
+
+        state = new TopicState(handle);
+        topics.put(topicId, state);
+
+        return state;
+    }
+
+    private synchronized void forget(PendingMessage pending) {
+        remove(pending);
+    }
+
+    private void remove(PendingMessage pending) {
+        pending.removed = true;
+        pending.transactionIds.forEach(byTransactionId::remove);
+
+        TopicState state = topics.get(pending.topicId);
+
+        if (state == null)
+            return;
+
+        ArrayDeque<PendingMessage> queue = state.byDigest.get(pending.digest);
+
+        if (queue != null) {
+            queue.remove(pending);
+            if (queue.isEmpty()) state.byDigest.remove(pending.digest);
+        }
+
+        state.lastActivityNanos = System.nanoTime();
+    }
+
+    private static String digest(byte[] contents) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(contents));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 확인 대기 중인 메시지.
+     */
+    public static final class PendingMessage {
+        private final String topicId;
+        private final String message;
+        private final String digest;
+        private final List<String> transactionIds = new ArrayList<>();
+        private final CompletableFuture<TopicMessageVo> confirmation = new CompletableFuture<>();
+
+        private volatile String transactionId;
+        private volatile Instant validUntil = Instant.MIN;
+        private Instant firstValidStart;
+        private int attempts;
+        private long deadlineNanos;
+        private volatile boolean removed;
+
+        private PendingMessage(String topicId, String message, String digest) {
+            this.topicId = topicId;
+            this.message = message;
+            this.digest = digest;
+        }
+
+        public String getTopicId() {
+            return topicId;
+        }
+
+        /**
+         * @return 마지막 전송의 transactionId
+         */
+        public String getTransactionId() {
+            return transactionId;
+        }
+
+        /**
+         * @return consensus 에 도달한 메시지로 완료되는 future, 최대 재전송 후에도 확인되지 않으면 TimeoutException 으로 완료됩니다.
+         */
+        public CompletableFuture<TopicMessageVo> getConfirmation() {
+            return confirmation;
+        }
+    }
+
+    private static final class TopicState {
+        private final SubscriptionHandle handle;
+        private final Map<String, ArrayDeque<PendingMessage>> byDigest = new HashMap<>();
+        private long lastActivityNanos = System.nanoTime();
+
+        private TopicState(SubscriptionHandle handle) {
+            this.handle = handle;
+        }
+
+        private ArrayDeque<PendingMessage> pending(String digest) {
+            return byDigest.computeIfAbsent(digest, key -> new ArrayDeque<>());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.hedera.consensus.shard;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 여러 물리 토픽(shard)으로 구성된 논리 토픽.
+ * <p>
+ * shardTopicIds 의 순서가 shard 인덱스이며, reshard 시에는 기존 목록 뒤에 토픽이 추가되기만 합니다.
+ * epoch 는 reshard 할 때마다 1씩 증가합니다.
+ *
+ * @param name          논리 토픽 이름
+ * @param epoch         shard 구성 버전
+ * @param shardTopicIds 물리 토픽 ID 목록
+ */
+public record LogicalTopic(String name, int epoch, List<String> shardTopicIds) {
+
+    public LogicalTopic {
+        if (shardTopicIds == null || shardTopicIds.isEmpty())
+            throw new IllegalArgumentException("shardTopicIds cannot be empty");
+
+        shardTopicIds = List.copyOf(shardTopicIds);
+    }
+
+    public int shardCount() {
+        return shardTopicIds.size();
+    }
+
+    public int shardOf(@NonNull String key) {
+        return ShardRouter.shardOf(key, shardCount());
+    }
+
+    public String topicIdFor(@NonNull String key) {
+        return shardTopicIds.get(shardOf(key));
+    }
+
+    public LogicalTopic withAdditionalShards(@NonNull List<String> additionalTopicIds) {
+        List<String> topicIds = new ArrayList<>(shardTopicIds);
+        topicIds.addAll(additionalTopicIds);
+
+        return new LogicalTopic(name, epoch + 1, topicIds);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.hedera.consensus.shard;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 논리 토픽의 현재 shard 구성(topology)을 보관하는 저장소.
+ * <p>
+ * 논리 토픽마다 {@code <name>.properties} 파일 하나가 유일한 기준이며, 형식은 {@code epoch=<n>}, {@code shard.<index>=<topicId>} 입니다.
+ * 송신/구독 시 파일의 수정 시각이 바뀐 경우에만 다시 읽으므로, 같은 디렉토리를 공유하는 모든 프로세스가 reshard 결과를 다음 전송부터 사용합니다.
+ * 등록은 파일 잠금 안에서 저장된 epoch 보다 큰 경우에만 반영되어, 동시에 reshard 해도 한 구성만 남습니다.
+ */
+@Slf4j
+@Component
+public class LogicalTopicRegistry {
+    private static final String EPOCH = "epoch";
+    private static final String SHARD_PREFIX = "shard.";
+
+    private final Path directory;
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+
+    public LogicalTopicRegistry(
+            @Value("${hedera.shard.registry-dir:${java.io.tmpdir}/hedera-example/logical-topics}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * @param name 논리 토픽 이름
+     * @return 등록된 현재 구성, 없으면 empty
+     */
+    public Optional<LogicalTopic> find(@NonNull String name) {
+        Path file = fileOf(name);
+        BasicFileAttributes attributes;
+
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read logical topic " + name, e);
+        }
+
+        Cached cached = cache.get(name);
+
+        // 파일은 교체(move)로만 바뀌므로 fileKey(inode) 로 수정 시각 해상도보다 빠른 연속 변경도 구분
+        if (cached != null
+                && Objects.equals(cached.fileKey(), attributes.fileKey())
+                && cached.modified().equals(attributes.lastModifiedTime()))
+            return Optional.of(cached.topic());
+
+        LogicalTopic topic = read(name, file);
+        cache.put(name, new Cached(attributes.fileKey(), attributes.lastModifiedTime(), topic));
+
+        return Optional.of(topic);
+    }
+
+    /**
+     * 저장된 구성보다 epoch 가 큰 경우에만 등록합니다.
+     *
+     * @param topic 새 구성
+     * @throws IllegalStateException 같거나 더 큰 epoch 가 이미 등록된 경우 - 다른 곳에서 먼저 reshard 됨
+     */
+    public void register(@NonNull LogicalTopic topic) {
+        try {
+            Files.createDirectories(directory);
+
+            try (FileChannel lockChannel = FileChannel.open(directory.resolve(topic.name() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lockChannel.lock()) {
+                Path file = fileOf(topic.name());
+
+                if (Files.isRegularFile(file)) {
+                    LogicalTopic current = read(topic.name(), file);
+
+                    if (current.epoch() >= topic.epoch())
+                        throw new IllegalStateException("Logical topic " + topic.name() + " is already at epoch " + current.epoch());
+                }
+
+                write(topic, file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to register logical topic " + topic.name(), e);
+        }
+    }
+
+    private Path fileOf(String name) {
+        return directory.resolve(name + ".properties");
+    }
+
+    private LogicalTopic read(String name, Path file) {
+        Properties properties = new Properties();
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read logical topic " + name, e);
+        }
+
+        List<String> topicIds = new ArrayList<>();
+
+        for (int index = 0; properties.containsKey(SHARD_PREFIX + index); index++)
+            topicIds.add(properties.getProperty(SHARD_PREFIX + index));
+
+        return new LogicalTopic(name, Integer.parseInt(properties.getProperty(EPOCH, "0")), topicIds);
+    }
+
+    private void write(LogicalTopic topic, Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(EPOCH, Integer.toString(topic.epoch()));
+
+        for (int index = 0; index < topic.shardCount(); index++)
+            properties.setProperty(SHARD_PREFIX + index, topic.shardTopicIds().get(index));
+
+        Path temp = Files.createTempFile(directory, topic.name(), ".tmp");
+
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            properties.store(writer, "logical topic " + topic.name());
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Registered logical topic {} epoch {} with {} shards", topic.name(), topic.epoch(), topic.shardCount());
+    }
+
+    private record Cached(Object fileKey, FileTime modified, LogicalTopic topic) {
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.hedera.consensus.shard;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * N 개의 구독 스트림을 consensus timestamp 기준으로 병합(k-way merge)합니다.
+ * <p>
+ * 각 스트림은 timestamp 순서대로 전달된다고 가정합니다. 가장 오래된 메시지는 다른 모든 스트림이
+ * 그 이후 시점까지 진행했거나(대기 메시지 또는 마지막 수신 timestamp 기준), 메시지가 도착한 뒤 maxLateness 동안 대기한 경우에 방출됩니다.
+ * 대기 시간은 consensus timestamp 가 아닌 도착 시각 기준이므로, 과거 시점부터의 replay 나 mirror 전달 지연이 있어도 순서가 유지됩니다.
+ * 메시지가 없는 shard 때문에 병합이 멈추지 않도록 {@link #flush()} 를 주기적으로 호출해야 합니다.
+ * <p>
+ * downstream 은 lock 밖에서 한 번에 한 스레드만 호출하므로, 느린 downstream 이 다른 스트림의 offer 를 막지 않으며 방출 순서도 유지됩니다.
+ * 다른 스레드가 전달 중이면 offer 는 메시지를 넣고 바로 반환하며, 전달 중인 스레드가 이어서 전달합니다.
+ *
+ * @param <T> 메시지 타입
+ */
+@Slf4j
+public class OrderedTopicMerger<T> {
+    private int sourceCount;
+    private final Function<T, Instant> timestampOf;
+    private final Duration maxLateness;
+    private final Clock clock;
+    private final Consumer<T> downstream;
+
+    private final PriorityQueue<Entry<T>> pending;
+    private int[] pendingCounts;
+    private Instant[] watermarks;
+    private long arrivalSeq;
+    private boolean delivering;
+
+    public OrderedTopicMerger(int sourceCount,
+                              @NonNull Function<T, Instant> timestampOf,
+                              @NonNull Duration maxLateness,
+                              @NonNull Clock clock,
+                              @NonNull Consumer<T> downstream) {
+        if (sourceCount <= 0)
+            throw new IllegalArgumentException("sourceCount must be positive");
+
+        this.sourceCount = sourceCount;
+        this.timestampOf = timestampOf;
+        this.maxLateness = maxLateness;
+        this.clock = clock;
+        this.downstream = downstream;
+        this.pending = new PriorityQueue<>(Comparator.<Entry<T>, Instant>comparing(Entry::timestamp)
+                .thenComparingInt(Entry::source)
+                .thenComparingLong(Entry::arrivalSeq));
+        this.pendingCounts = new int[sourceCount];
+        this.watermarks = new Instant[sourceCount];
+    }
+
+    public void offer(int source, @NonNull T message) {
+        synchronized (this) {
+            if (source < 0 || source >= sourceCount)
+                throw new IllegalArgumentException("Unknown source: " + source);
+
+            Instant timestamp = timestampOf.apply(message);
+
+            pending.add(new Entry<>(source, timestamp, arrivalSeq++, clock.instant(), message));
+            pendingCounts[source]++;
+
+            if (watermarks[source] == null || timestamp.isAfter(watermarks[source]))
+                watermarks[source] = timestamp;
+        }
+
+        deliver(false);
+    }
+
+    /**
+     * 병합 대상 스트림 추가. 새 스트림도 다른 스트림과 같은 기준으로 대기합니다.
+     *
+     * @return 추가된 스트림의 source 번호
+     */
+    public synchronized int addSource() {
+        pendingCounts = Arrays.copyOf(pendingCounts, sourceCount + 1);
+        watermarks = Arrays.copyOf(watermarks, sourceCount + 1);
+
+        return sourceCount++;
+    }
+
+    public void flush() {
+        deliver(false);
+    }
+
+    /**
+     * 대기 중인 메시지를 기다리지 않고 timestamp 순서로 모두 전달합니다. 구독 해지 시 사용합니다.
+     *
+     * @return 전달한 메시지 수
+     */
+    public int flushAll() {
+        return deliver(true);
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    // 전달 권한(delivering)을 가진 스레드만 lock 밖에서 downstream 호출
+    private int deliver(boolean all) {
+        int delivered = 0;
+
+        synchronized (this) {
+            if (delivering && !all)
+                return 0;
+
+            while (delivering) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return 0;
+                }
+            }
+
+            delivering = true;
+        }
+
+        try {
+            while (true) {
+                List<T> ready;
+
+                synchronized (this) {
+                    ready = takeReady(all);
+
+                    if (ready.isEmpty()) {
+                        delivering = false;
+                        notifyAll();
+                        return delivered;
+                    }
+                }
+
+                for (T message : ready) {
+                    try {
+                        downstream.accept(message);
+                    } catch (RuntimeException e) {
+                        log.error("Failed to deliver merged message", e);
+                    }
+                }
+
+                delivered += ready.size();
+            }
+        } catch (Throwable e) {
+            synchronized (this) {
+                delivering = false;
+                notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    private List<T> takeReady(boolean all) {
+        List<T> ready = new ArrayList<>();
+        // 이 시각 이전에 도착한 메시지는 더 기다리지 않음
+        Instant waitedBound = clock.instant().minus(maxLateness);
+
+        while (!pending.isEmpty()) {
+            Entry<T> head = pending.peek();
+
+            if (!all && !othersCaughtUp(head) && head.arrivedAt().isAfter(waitedBound))
+                break;
+
+            pending.poll();
+            pendingCounts[head.source()]--;
+            ready.add(head.message());
+        }
+
+        return ready;
+    }
+
+    private boolean othersCaughtUp(Entry<T> head) {
+        for (int source = 0; source < sourceCount; source++) {
+            if (source == head.source() || pendingCounts[source] > 0)
+                continue;
+
+            if (watermarks[source] == null || watermarks[source].isBefore(head.timestamp()))
+                return false;
+        }
+
+        return true;
+    }
+
+    private record Entry<T>(int source, Instant timestamp, long arrivalSeq, Instant arrivedAt, T message) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.hedera.consensus.shard;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+/**
+ * 파티션 키를 물리 토픽(shard) 인덱스로 매핑합니다.
+ * <p>
+ * Jump Consistent Hash 를 사용하므로 shard 수가 N 에서 M(M > N) 으로 늘어날 때
+ * 약 (M - N) / M 비율의 키만 새 shard 로 이동하고, 기존 shard 사이의 이동은 발생하지 않습니다.
+ * 동일한 키는 같은 shard 구성에서 항상 같은 shard 로 매핑되므로 키 단위 순서가 보장됩니다.
+ */
+@UtilityClass
+public class ShardRouter {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * @param key        파티션 키
+     * @param shardCount shard 수
+     * @return 0 ~ shardCount - 1 사이의 shard 인덱스
+     */
+    public int shardOf(@NonNull String key, int shardCount) {
+        if (shardCount <= 0)
+            throw new IllegalArgumentException("shardCount must be positive");
+
+        return jumpConsistentHash(hash(key), shardCount);
+    }
+
+    // JVM 간에 동일한 값을 보장하기 위해 String.hashCode 대신 FNV-1a(64bit) 사용
+    private long hash(String key) {
+        long hash = FNV_OFFSET_BASIS;
+
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    // Lamping & Veach, "A Fast, Minimal Memory, Consistent Hash Algorithm"
+    private int jumpConsistentHash(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+
+        return (int) b;
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.hedera.consensus.shard;
+
+import com.example.hedera.common.vo.HederaTransactionResponseVo;
+import com.example.hedera.consensus.helper.ConsensusHelper;
+import com.example.hedera.consensus.vo.MessageResponseVo;
+import com.example.hedera.consensus.vo.TopicResponseVo;
+import com.hedera.hashgraph.sdk.PrecheckStatusException;
+import com.hedera.hashgraph.sdk.ReceiptStatusException;
+import com.hedera.hashgraph.sdk.SubscriptionHandle;
+import com.hedera.hashgraph.sdk.TopicMessage;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * 하나의 논리 토픽을 N 개의 물리 토픽으로 분산하는 helper.
+ * <p>
+ * 송신 시에는 파티션 키로 shard 를 선택하여 키 단위 순서를 보장하고,
+ * 수신 시에는 shard 별 구독을 consensus timestamp 기준으로 병합하여 전역 순서를 제공합니다.
+ * <p>
+ * 현재 shard 구성은 {@link LogicalTopicRegistry} 에만 보관됩니다. 호출자가 가진 LogicalTopic 은 이름을 찾는 용도로만 쓰이며,
+ * 송신과 구독은 항상 저장소의 최신 구성을 사용하므로 reshard 이후 오래된 구성으로 키가 이전 shard 로 전송되지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShardedConsensusHelper {
+    private static final long FLUSH_INTERVAL_MILLIS = 100;
+    private static final long TOPOLOGY_REFRESH_MILLIS = 1_000;
+
+    private final ConsensusHelper consensusHelper;
+    private final LogicalTopicRegistry registry;
+
+    /**
+     * 논리 토픽 생성.
+     * <p>shardCount 개의 물리 토픽을 기본 설정으로 생성하고 저장소에 등록합니다. 토픽 메모는 {@code name#index} 형식입니다.</p>
+     *
+     * @param name       논리 토픽 이름
+     * @param shardCount 물리 토픽 수
+     * @return LogicalTopic
+     * @throws PrecheckStatusException PrecheckStatusException
+     * @throws TimeoutException        TimeoutException
+     * @throws ReceiptStatusException  ReceiptStatusException
+     */
+    public LogicalTopic createLogicalTopic(@NonNull String name, int shardCount)
+            throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
+        if (shardCount <= 0)
+            throw new IllegalArgumentException("shardCount must be positive");
+        if (registry.find(name).isPresent())
+            throw new IllegalStateException("Logical topic " + name + " already exists");
+
+        LogicalTopic logicalTopic = new LogicalTopic(name, 0, createShardTopics(name, 0, shardCount));
+        registry.register(logicalTopic);
+
+        return logicalTopic;
+    }
+
+    /**
+     * reshard - 물리 토픽 추가.
+     * <p>
+     * 저장소의 최신 구성을 기준으로 새 토픽을 뒤에 추가하고 새 epoch 로 등록합니다. 기존 shard 의 인덱스는 유지되며 일부 키만 새 shard 로 이동합니다.
+     * 등록 이후의 송신은 모든 호출자가 새 구성을 사용하므로, 이동한 키의 이후 메시지는 모두 새 shard 로 전송됩니다.
+     * 실행 중인 병합 구독은 저장소를 주기적으로 확인하여 새 shard 를 구독합니다.
+     * </p>
+     *
+     * @param logicalTopic     기존 논리 토픽
+     * @param additionalShards 추가할 물리 토픽 수
+     * @return epoch 가 증가한 LogicalTopic
+     * @throws PrecheckStatusException PrecheckStatusException
+     * @throws TimeoutException        TimeoutException
+     * @throws ReceiptStatusException  ReceiptStatusException
+     */
+    public LogicalTopic addShards(@NonNull LogicalTopic logicalTopic, int additionalShards)
+            throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
+        if (additionalShards <= 0)
+            throw new IllegalArgumentException("additionalShards must be positive");
+
+        LogicalTopic current = current(logicalTopic);
+        List<String> topicIds = createShardTopics(current.name(), current.shardCount(), additionalShards);
+
+        LogicalTopic resharded = current.withAdditionalShards(topicIds);
+        // 다른 곳에서 먼저 reshard 했으면 IllegalStateException - 생성한 토픽은 사용되지 않음
+        registry.register(resharded);
+
+        log.info("Resharded logical topic {} to {} shards (epoch {})",
+                resharded.name(), resharded.shardCount(), resharded.epoch());
+
+        return resharded;
+    }
+
+    /**
+     * 파티션 키에 해당하는 shard 로 메시지를 전송합니다. shard 는 저장소의 최신 구성으로 선택합니다.
+     *
+     * @param logicalTopic 논리 토픽
+     * @param key          파티션 키 - 같은 키의 메시지는 같은 물리 토픽으로 전송됩니다.
+     * @param message      message
+     * @return HederaTransactionResponseVo<MessageResponseVo>
+     * @throws PrecheckStatusException PrecheckStatusException
+     * @throws TimeoutException        TimeoutException
+     * @throws ReceiptStatusException  ReceiptStatusException
+     */
+    public HederaTransactionResponseVo<MessageResponseVo> submitMessage(@NonNull LogicalTopic logicalTopic,
+                                                                        @NonNull String key,
+                                                                        @NonNull String message)
+            throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
+
+        return consensusHelper.submitMessage(current(logicalTopic).topicIdFor(key), message, null, null);
+    }
+
+    /**
+     * @param logicalTopic 논리 토픽
+     * @return 저장소에 등록된 최신 구성, 등록되지 않았으면 logicalTopic
+     */
+    public LogicalTopic current(@NonNull LogicalTopic logicalTopic) {
+        return registry.find(logicalTopic.name()).orElse(logicalTopic);
+    }
+
+    /**
+     * 전역 순서 구독.
+     * <p>
+     * 모든 shard 를 구독하고 consensus timestamp 순서로 병합하여 onMessage 에 전달합니다.
+     * maxLateness 는 메시지가 도착한 뒤 메시지가 없는 shard 를 기다리는 최대 시간이며, 이보다 늦게 도착한 메시지는 순서가 어긋날 수 있습니다.
+     * reshard 로 추가된 shard 는 저장소를 주기적으로 확인하여 자동으로 구독합니다.
+     * </p>
+     *
+     * @param logicalTopic       논리 토픽
+     * @param subscribeStartTime 구독 시작 시점(선택 사항)
+     * @param subscribeEndTime   구독 종료 시점(선택 사항)
+     * @param maxLateness        shard 간 대기 허용 시간
+     * @param onMessage          메시지 수신 콜백
+     * @return ShardedSubscription
+     */
+    public ShardedSubscription subscribeOrdered(@NonNull LogicalTopic logicalTopic,
+                                                Instant subscribeStartTime,
+                                                Instant subscribeEndTime,
+                                                @NonNull Duration maxLateness,
+                                                @NonNull Consumer<TopicMessage> onMessage) {
+        LogicalTopic current = current(logicalTopic);
+        OrderedTopicMerger<TopicMessage> merger = new OrderedTopicMerger<>(
+                current.shardCount(),
+                topicMessage -> topicMessage.consensusTimestamp,
+                maxLateness,
+                Clock.systemUTC(),
+                onMessage);
+
+        ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shard-merge-" + logicalTopic.name());
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(merger::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        ShardedSubscription subscription = new ShardedSubscription(
+                consensusHelper, registry, current.name(), merger, flusher, subscribeStartTime, subscribeEndTime);
+
+        for (int shard = 0; shard < current.shardCount(); shard++)
+            subscription.subscribeShard(shard, current.shardTopicIds().get(shard));
+
+        flusher.scheduleWithFixedDelay(subscription::refreshTopology,
+                TOPOLOGY_REFRESH_MILLIS, TOPOLOGY_REFRESH_MILLIS, TimeUnit.MILLISECONDS);
+
+        return subscription;
+    }
+
+    private List<String> createShardTopics(String name, int fromIndex, int count)
+            throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
+        List<String> topicIds = new ArrayList<>(count);
+
+        for (int index = fromIndex; index < fromIndex + count; index++) {
+            HederaTransactionResponseVo<TopicResponseVo> response = consensusHelper.createTopic(name + "#" + index);
+
+            topicIds.add(response.getResult().topicId());
+        }
+
+        return topicIds;
+    }
+
+    /**
+     * 병합 구독 핸들.
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class ShardedSubscription {
+        private final ConsensusHelper consensusHelper;
+        private final LogicalTopicRegistry registry;
+        private final String name;
+        private final OrderedTopicMerger<TopicMessage> merger;
+        private final ScheduledExecutorService flusher;
+        private final Instant subscribeStartTime;
+        private final Instant subscribeEndTime;
+        private final List<SubscriptionHandle> handles = new ArrayList<>();
+        private boolean closed;
+
+        /**
+         * reshard 후 추가된 shard 를 구독에 포함합니다. 이미 구독 중인 shard 는 건너뜁니다.
+         * 구독은 저장소를 주기적으로 확인하므로 보통은 직접 호출할 필요가 없습니다.
+         *
+         * @param resharded {@link ShardedConsensusHelper#addShards} 가 반환한 LogicalTopic
+         */
+        public synchronized void addShards(@NonNull LogicalTopic resharded) {
+            if (closed)
+                throw new IllegalStateException("Subscription is closed");
+
+            for (int shard = handles.size(); shard < resharded.shardCount(); shard++)
+                subscribeShard(merger.addSource(), resharded.shardTopicIds().get(shard));
+        }
+
+        /**
+         * 구독을 해지합니다. 병합 대기 중인 메시지는 버리지 않고 timestamp 순서로 모두 전달한 뒤 반환합니다.
+         */
+        public void unsubscribe() {
+            synchronized (this) {
+                if (closed)
+                    return;
+
+                closed = true;
+                handles.forEach(SubscriptionHandle::unsubscribe);
+                flusher.shutdownNow();
+            }
+
+            int remaining = merger.flushAll();
+
+            if (remaining > 0)
+                log.info("Delivered {} buffered messages of logical topic {} on unsubscribe", remaining, name);
+        }
+
+        private synchronized void refreshTopology() {
+            if (closed)
+                return;
+
+            try {
+                registry.find(name)
+                        .filter(topic -> topic.shardCount() > handles.size())
+                        .ifPresent(this::addShards);
+            } catch (RuntimeException e) {
+                log.warn("Failed to refresh topology of logical topic {}: {}", name, e.getMessage());
+            }
+        }
+
+        private synchronized void subscribeShard(int source, String topicId) {
+            handles.add(consensusHelper.getTopicMessages(
+                    topicId,
+                    subscribeStartTime,
+                    subscribeEndTime,
+                    topicMessage -> merger.offer(source, topicMessage)));
+        }
+    }
+}
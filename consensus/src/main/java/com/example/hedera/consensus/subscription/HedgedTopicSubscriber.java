@@ -0,0 +1,286 @@
+package com.example.hedera.consensus.subscription;
+
+import com.example.hedera.consensus.vo.TopicMessageVo;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 여러 mirror node endpoint 를 동시에 구독하는 hedged 구독.
+ * <p>
+ * 같은 토픽을 모든 endpoint 에서 구독하고, sequence number 별로 가장 먼저 도착한 메시지만 전달합니다.
+ * 중복 판별은 {@link SequenceWindow} 로 수행합니다. 각 스트림은 sequence 순서대로 도착하므로 전달 순서도 유지됩니다.
+ * <p>
+ * endpoint 별로 첫 도착 대비 지연(EWMA)을 측정하여, 지연이 maxLag 를 넘거나 sequence 가 maxSequenceLag 이상 뒤처진 채
+ * maxLag 동안 멈춘 endpoint 는 구독을 해지(강등)합니다. 강등된 endpoint 는 probation 이후 마지막 전달 시점부터 다시 구독합니다.
+ * 활성 endpoint 가 하나만 남으면 강등하지 않으며, 마지막 endpoint 에서 오류가 발생하면 probation 없이 다음 점검 주기에 재구독합니다.
+ * endpoint 가 하나뿐이면 hedging 효과는 없습니다.
+ */
+@Slf4j
+public class HedgedTopicSubscriber implements AutoCloseable {
+    private static final double LAG_EWMA_ALPHA = 0.2;
+
+    private final List<MirrorMessageStream> endpoints;
+    private final Settings settings;
+    private final ScheduledExecutorService scheduler;
+
+    public HedgedTopicSubscriber(@NonNull List<MirrorMessageStream> endpoints, @NonNull Settings settings) {
+        if (endpoints.isEmpty())
+            throw new IllegalArgumentException("endpoints cannot be empty");
+
+        if (endpoints.size() < 2)
+            log.warn("Hedged subscriber has only one mirror endpoint ({}), hedging has no effect", endpoints.get(0).name());
+
+        this.endpoints = List.copyOf(endpoints);
+        this.settings = settings;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hedged-subscriber");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * hedged 구독.
+     *
+     * @param topicId   topicId
+     * @param startTime 구독 시작 시점(선택 사항)
+     * @param onMessage 메시지 수신 콜백 - sequence number 당 한 번, 오름차순으로 호출됩니다.
+     * @return HedgedSubscription
+     */
+    public HedgedSubscription subscribe(@NonNull String topicId,
+                                        Instant startTime,
+                                        @NonNull Consumer<TopicMessageVo> onMessage) {
+        HedgedSubscription subscription = new HedgedSubscription(topicId, startTime, onMessage);
+        subscription.start();
+
+        return subscription;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+
+        for (MirrorMessageStream endpoint : endpoints) {
+            try {
+                endpoint.close();
+            } catch (Exception e) {
+                log.warn("Failed to close mirror endpoint {}", endpoint.name(), e);
+            }
+        }
+    }
+
+    /**
+     * hedged 구독 핸들.
+     */
+    public final class HedgedSubscription implements TopicSubscription {
+        private final String topicId;
+        private final Instant startTime;
+        private final Consumer<TopicMessageVo> onMessage;
+
+        private final SequenceWindow window = new SequenceWindow(settings.windowSize());
+        private final long[] firstArrivalNanos = new long[settings.windowSize()];
+        private final List<EndpointState> states = new ArrayList<>();
+        private Instant lastDeliveredTimestamp;
+        private ScheduledFuture<?> healthCheck;
+        private boolean closed;
+
+        private HedgedSubscription(String topicId, Instant startTime, Consumer<TopicMessageVo> onMessage) {
+            this.topicId = topicId;
+            this.startTime = startTime;
+            this.onMessage = onMessage;
+
+            for (MirrorMessageStream endpoint : endpoints)
+                states.add(new EndpointState(endpoint));
+        }
+
+        private synchronized void start() {
+            states.forEach(state -> connect(state, startTime));
+
+            long interval = settings.checkInterval().toNanos();
+            healthCheck = scheduler.scheduleWithFixedDelay(this::checkEndpoints, interval, interval, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @return 현재 구독 중인 endpoint 이름 목록
+         */
+        public synchronized List<String> activeEndpoints() {
+            return states.stream()
+                    .filter(state -> state.active)
+                    .map(state -> state.endpoint.name())
+                    .toList();
+        }
+
+        @Override
+        public synchronized void unsubscribe() {
+            if (closed)
+                return;
+
+            closed = true;
+            healthCheck.cancel(false);
+            states.forEach(this::disconnect);
+        }
+
+        private void connect(EndpointState state, Instant from) {
+            state.lagNanos = 0;
+            state.lastSequenceNumber = window.highest();
+            state.lastArrivalNanos = System.nanoTime();
+            state.active = true;
+            state.subscription = state.endpoint.subscribe(topicId, from,
+                    message -> onEndpointMessage(state, message),
+                    error -> onEndpointError(state, error));
+        }
+
+        private void disconnect(EndpointState state) {
+            state.active = false;
+
+            if (state.subscription != null) {
+                state.subscription.unsubscribe();
+                state.subscription = null;
+            }
+        }
+
+        private synchronized void onEndpointMessage(EndpointState state, TopicMessageVo message) {
+            if (closed || !state.active)
+                return;
+
+            long now = System.nanoTime();
+            long sequenceNumber = message.sequenceNumber();
+            int slot = (int) (sequenceNumber & (settings.windowSize() - 1));
+
+            state.lastSequenceNumber = Math.max(state.lastSequenceNumber, sequenceNumber);
+            state.lastArrivalNanos = now;
+
+            if (window.markIfFirst(sequenceNumber)) {
+                firstArrivalNanos[slot] = now;
+                lastDeliveredTimestamp = message.consensusTimestamp();
+                state.recordLag(0);
+
+                onMessage.accept(message);
+            } else {
+                long lag = window.inWindow(sequenceNumber)
+                        ? now - firstArrivalNanos[slot]
+                        : settings.maxLag().toNanos() * 2;
+
+                state.recordLag(lag);
+            }
+        }
+
+        private synchronized void onEndpointError(EndpointState state, Throwable error) {
+            if (closed || !state.active)
+                return;
+
+            log.warn("Mirror endpoint {} failed for topic {}: {}", state.endpoint.name(), topicId, error.getMessage());
+
+            long now = System.nanoTime();
+
+            if (activeCount() > 1) {
+                demote(state, now);
+            } else {
+                // 마지막 endpoint 는 probation 없이 다음 점검 주기에 재구독
+                disconnect(state);
+                state.demotedUntilNanos = now;
+            }
+        }
+
+        private synchronized void checkEndpoints() {
+            if (closed)
+                return;
+
+            long now = System.nanoTime();
+
+            for (EndpointState state : states) {
+                if (!state.active) {
+                    if (now >= state.demotedUntilNanos) {
+                        log.info("Re-subscribing mirror endpoint {} for topic {}", state.endpoint.name(), topicId);
+                        connect(state, resumeTime());
+                    }
+                } else if (isLagging(state, now) && activeCount() > 1) {
+                    log.warn("Demoting lagging mirror endpoint {} for topic {} (lag {} ms, {} messages behind)",
+                            state.endpoint.name(), topicId,
+                            TimeUnit.NANOSECONDS.toMillis((long) state.lagNanos),
+                            window.highest() - state.lastSequenceNumber);
+
+                    demote(state, now);
+                }
+            }
+        }
+
+        private boolean isLagging(EndpointState state, long now) {
+            long maxLag = settings.maxLag().toNanos();
+            boolean stalled = window.highest() - state.lastSequenceNumber >= settings.maxSequenceLag()
+                    && now - state.lastArrivalNanos > maxLag;
+
+            return state.lagNanos > maxLag || stalled;
+        }
+
+        private void demote(EndpointState state, long now) {
+            disconnect(state);
+            state.demotedUntilNanos = now + settings.probation().toNanos();
+        }
+
+        private int activeCount() {
+            int count = 0;
+
+            for (EndpointState state : states)
+                if (state.active) count++;
+
+            return count;
+        }
+
+        // 마지막으로 전달한 메시지 직후부터 재구독 - 중복은 window 에서 걸러짐
+        private Instant resumeTime() {
+            return lastDeliveredTimestamp != null ? lastDeliveredTimestamp.plusNanos(1) : startTime;
+        }
+    }
+
+    private static final class EndpointState {
+        private final MirrorMessageStream endpoint;
+        private TopicSubscription subscription;
+        private boolean active;
+        private double lagNanos;
+        private long lastSequenceNumber;
+        private long lastArrivalNanos;
+        private long demotedUntilNanos;
+
+        private EndpointState(MirrorMessageStream endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private void recordLag(long lag) {
+            lagNanos += (lag - lagNanos) * LAG_EWMA_ALPHA;
+        }
+    }
+
+    /**
+     * hedged 구독 설정.
+     *
+     * @param windowSize     중복 판별 window 크기 - 64 이상의 2의 거듭제곱
+     * @param maxLag         endpoint 허용 지연
+     * @param maxSequenceLag 멈춘 endpoint 로 판단할 sequence 차이
+     * @param probation      강등 후 재구독까지 대기 시간
+     * @param checkInterval  endpoint 상태 점검 주기
+     */
+    public record Settings(int windowSize,
+                           Duration maxLag,
+                           long maxSequenceLag,
+                           Duration probation,
+                           Duration checkInterval) {
+
+        public Settings {
+            if (windowSize < 64 || Integer.bitCount(windowSize) != 1)
+                throw new IllegalArgumentException("windowSize must be a power of two >= 64");
+            if (maxSequenceLag <= 0)
+                throw new IllegalArgumentException("maxSequenceLag must be positive");
+        }
+    }
+}
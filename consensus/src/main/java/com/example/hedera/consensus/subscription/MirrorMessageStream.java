@@ -0,0 +1,32 @@
+package com.example.hedera.consensus.subscription;
+
+import com.example.hedera.consensus.vo.TopicMessageVo;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * 단일 mirror node endpoint 의 토픽 메시지 스트림.
+ */
+public interface MirrorMessageStream extends AutoCloseable {
+    /**
+     * @return endpoint 이름 (로그 및 상태 조회용)
+     */
+    String name();
+
+    /**
+     * @param topicId   topicId
+     * @param startTime 구독 시작 시점(선택 사항)
+     * @param onMessage 메시지 수신 콜백
+     * @param onError   스트림 오류 콜백
+     * @return TopicSubscription
+     */
+    TopicSubscription subscribe(String topicId,
+                                Instant startTime,
+                                Consumer<TopicMessageVo> onMessage,
+                                Consumer<Throwable> onError);
+
+    @Override
+    default void close() throws Exception {
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.hedera.consensus.subscription;
+
+import com.example.hedera.consensus.vo.TopicMessageVo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * mirror node REST API({@code /api/v1/topics/{topicId}/messages}) 기반 메시지 조회.
+ * <p>
+ * 모든 토픽이 하나의 HttpClient 를 공유하므로 mirror node 당 소수의 HTTP/2 연결 위에서 요청이 다중화됩니다.
+ * 여러 mirror node 가 설정되면 요청마다 순서대로 번갈아 사용합니다.
+ */
+public class MirrorRestTopicMessageSource implements MirrorTopicMessageSource {
+    private final List<String> baseUrls;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+    private final AtomicInteger nextBaseUrl = new AtomicInteger();
+
+    public MirrorRestTopicMessageSource(@NonNull List<String> baseUrls,
+                                        @NonNull Executor executor,
+                                        @NonNull ObjectMapper objectMapper,
+                                        @NonNull Duration requestTimeout) {
+        if (baseUrls.isEmpty())
+            throw new IllegalArgumentException("baseUrls cannot be empty");
+
+        this.baseUrls = List.copyOf(baseUrls);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(requestTimeout)
+                .executor(executor)
+                .build();
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public CompletableFuture<List<TopicMessageVo>> fetch(String topicId, long afterSequenceNumber, int limit) {
+        String baseUrl = baseUrls.get(Math.floorMod(nextBaseUrl.getAndIncrement(), baseUrls.size()));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/api/v1/topics/" + topicId + "/messages"
+                        + "?order=asc&limit=" + limit + "&sequencenumber=gt:" + afterSequenceNumber))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() == 404)
+                        return List.of();
+                    if (response.statusCode() != 200)
+                        throw new IllegalStateException("Mirror node responded " + response.statusCode() + " for topic " + topicId);
+
+                    return parse(topicId, response.body());
+                });
+    }
+
+    private List<TopicMessageVo> parse(String topicId, byte[] body) {
+        JsonNode messages;
+
+        try {
+            messages = objectMapper.readTree(body).path("messages");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse mirror node response for topic " + topicId, e);
+        }
+
+        List<TopicMessageVo> result = new ArrayList<>(messages.size());
+
+        for (JsonNode message : messages) {
+            result.add(new TopicMessageVo(
+                    topicId,
+                    message.path("sequence_number").asLong(),
+                    parseTimestamp(message.path("consensus_timestamp").asText()),
+                    Base64.getDecoder().decode(message.path("message").asText()),
+                    Base64.getDecoder().decode(message.path("running_hash").asText()),
+                    parseTransactionId(message.path("chunk_info").path("initial_transaction_id"))
+            ));
+        }
+
+        return result;
+    }
+
+    // "seconds.nanos" 형식
+    private Instant parseTimestamp(String timestamp) {
+        int dot = timestamp.indexOf('.');
+
+        if (dot < 0)
+            return Instant.ofEpochSecond(Long.parseLong(timestamp));
+
+        return Instant.ofEpochSecond(
+                Long.parseLong(timestamp.substring(0, dot)),
+                Long.parseLong(timestamp.substring(dot + 1)));
+    }
+
+    // SDK TransactionId.toString() 과 같은 "accountId@seconds.nanos" 형식으로 변환
+    private String parseTransactionId(JsonNode initialTransactionId) {
+        if (initialTransactionId.isMissingNode() || initialTransactionId.isNull())
+            return null;
+
+        return initialTransactionId.path("account_id").asText()
+                + "@" + initialTransactionId.path("transaction_valid_start").asText();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.hedera.consensus.subscription;
+
+import com.example.hedera.consensus.vo.TopicMessageVo;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * mirror node 에서 토픽 메시지를 페이지 단위로 조회합니다.
+ */
+public interface MirrorTopicMessageSource {
+    /**
+     * afterSequenceNumber 이후의 메시지를 sequence number 오름차순으로 최대 limit 개 조회합니다.
+     *
+     * @param topicId             topicId
+     * @param afterSequenceNumber 마지막으로 수신한 sequence number (처음부터 조회하려면 0)
+     * @param limit               최대 조회 건수
+     * @return 조회된 메시지 목록, 새 메시지가 없으면 빈 목록
+     */
+    CompletableFuture<List<TopicMessageVo>> fetch(String topicId, long afterSequenceNumber, int limit);
+}
@@ -0,0 +1,59 @@
+package com.example.hedera.consensus.subscription;
+
+import com.example.hedera.consensus.vo.TopicMessageVo;
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.SubscriptionHandle;
+import com.hedera.hashgraph.sdk.TopicId;
+import com.hedera.hashgraph.sdk.TopicMessageQuery;
+import lombok.NonNull;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * SDK {@link TopicMessageQuery}(gRPC) 기반 스트림. endpoint 마다 mirror network 가 하나뿐인 Client 를 사용합니다.
+ */
+public class SdkMirrorMessageStream implements MirrorMessageStream {
+    private final String endpoint;
+    private final Client client;
+
+    /**
+     * @param endpoint mirror node gRPC endpoint (ex. testnet.mirrornode.hedera.com:443)
+     * @throws InterruptedException InterruptedException
+     */
+    public SdkMirrorMessageStream(@NonNull String endpoint) throws InterruptedException {
+        this.endpoint = endpoint;
+        this.client = Client.forNetwork(Map.of());
+        this.client.setMirrorNetwork(List.of(endpoint));
+    }
+
+    @Override
+    public String name() {
+        return endpoint;
+    }
+
+    @Override
+    public TopicSubscription subscribe(@NonNull String topicId,
+                                       Instant startTime,
+                                       @NonNull Consumer<TopicMessageVo> onMessage,
+                                       @NonNull Consumer<Throwable> onError) {
+        TopicMessageQuery topicMessageQuery = new TopicMessageQuery()
+                .setTopicId(TopicId.fromString(topicId))
+                .setErrorHandler((throwable, topicMessage) -> onError.accept(throwable));
+
+        if (startTime != null) topicMessageQuery.setStartTime(startTime);
+
+        SubscriptionHandle handle = topicMessageQuery.subscribe(client,
+                topicMessage -> onMessage.accept(TopicMessageVo.of(topicId, topicMessage)));
+
+        return handle::unsubscribe;
+    }
+
+    @Override
+    public void close() throws TimeoutException {
+        client.close();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.hedera.consensus.subscription;
+
+import java.util.Arrays;
+
+/**
+ * sequence number 중복 판별용 sliding window bitmap.
+ * <p>
+ * 가장 높은 sequence number 로부터 size 범위 안의 수신 여부를 비트 하나로 기록합니다.
+ * window 보다 오래된 sequence number 는 이미 수신한 것으로 간주합니다. thread-safe 하지 않습니다.
+ */
+public final class SequenceWindow {
+    private final long[] words;
+    private final int mask;
+    private long highest;
+
+    /**
+     * @param size window 크기 - 64 이상의 2의 거듭제곱
+     */
+    public SequenceWindow(int size) {
+        if (size < 64 || Integer.bitCount(size) != 1)
+            throw new IllegalArgumentException("size must be a power of two >= 64");
+
+        this.words = new long[size >>> 6];
+        this.mask = size - 1;
+    }
+
+    /**
+     * @param sequenceNumber sequence number
+     * @return 처음 수신한 sequence number 이면 true
+     */
+    public boolean markIfFirst(long sequenceNumber) {
+        if (sequenceNumber <= highest - size())
+            return false;
+
+        if (sequenceNumber > highest)
+            advance(sequenceNumber);
+
+        int bit = (int) (sequenceNumber & mask);
+        long flag = 1L << (bit & 63);
+
+        if ((words[bit >>> 6] & flag) != 0)
+            return false;
+
+        words[bit >>> 6] |= flag;
+        return true;
+    }
+
+    public boolean inWindow(long sequenceNumber) {
+        return sequenceNumber > highest - size() && sequenceNumber <= highest;
+    }
+
+    public long highest() {
+        return highest;
+    }
+
+    public int size() {
+        return mask + 1;
+    }
+
+    // highest 이후 ~ sequenceNumber 구간의 비트를 비움
+    private void advance(long sequenceNumber) {
+        if (sequenceNumber - highest >= size()) {
+            Arrays.fill(words, 0L);
+        } else {
+            for (long sequence = highest + 1; sequence <= sequenceNumber; sequence++) {
+                int bit = (int) (sequence & mask);
+                words[bit >>> 6] &= ~(1L << (bit & 63));
+            }
+        }
+
+        highest = sequenceNumber;
+    }
+}
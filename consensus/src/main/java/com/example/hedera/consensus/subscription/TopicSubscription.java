@@ -0,0 +1,12 @@
+package com.example.hedera.consensus.subscription;
+
+/**
+ * 토픽 구독 핸들.
+ */
+@FunctionalInterface
+public interface TopicSubscription {
+    /**
+     * 구독 해지. 여러 번 호출해도 안전합니다.
+     */
+    void unsubscribe();
+}
@@ -0,0 +1,413 @@
+package com.example.hedera.consensus.subscription;
+
+import com.example.hedera.consensus.vo.TopicMessageVo;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 수천 개의 토픽 구독을 하나의 dispatch loop 와 공유 mirror node 연결로 처리하는 multiplexer.
+ * <p>
+ * 토픽마다 gRPC 스트림을 여는 대신, dispatch loop 가 구독 중인 토픽을 polling 일정에 따라 조회합니다.
+ * <ul>
+ *      <li>토픽은 첫 구독 시점에 시작(lazy start)되고 마지막 구독이 해지되면 정리됩니다.</li>
+ *      <li>새 메시지가 없는 토픽은 polling 간격이 maxPollInterval 까지 지수적으로 늘어나 유휴 상태가 됩니다.</li>
+ *      <li>전달되지 않은 메시지가 perTopicBudgetBytes 를 넘은 토픽은 전달이 끝날 때까지 조회하지 않습니다.</li>
+ *      <li>같은 토픽의 메시지는 sequence number 순서대로, 토픽 단위로 직렬 전달됩니다.</li>
+ *      <li>전체 조회 요청은 maxRequestsPerSecond 로 제한되며, 한도 안에서는 최근 메시지가 있었던 활성 토픽을 유휴 토픽보다 먼저 조회합니다.</li>
+ * </ul>
+ * 전달 지연의 상한은 다음과 같습니다.
+ * <ul>
+ *      <li>활성 토픽 - 활성 토픽의 조회량(활성 토픽 수 / minPollInterval)이 maxRequestsPerSecond 이하이면 약 minPollInterval.</li>
+ *      <li>유휴 토픽의 첫 메시지 - max(maxPollInterval, 유휴 토픽 수 / maxRequestsPerSecond).
+ *      기본값(30초, 50 req/s)이면 1,500 토픽까지 30초, 10k 토픽이면 약 200초입니다.</li>
+ * </ul>
+ * 유휴 토픽의 지연 상한이 maxIdleLag 를 넘으면 경고를 남깁니다. 공개 mirror node 는 IP 별 요청 한도가 있으므로,
+ * 수천 토픽 규모에서 maxIdleLag 를 지키려면 자체 mirror node 를 사용하고 maxRequestsPerSecond 를 (토픽 수 / maxIdleLag) 이상으로 올려야 합니다.
+ * 상태 변경은 모두 dispatch loop 스레드에서 수행되며, 외부 호출과 조회 결과는 명령 큐를 통해 전달됩니다.
+ */
+@Slf4j
+public class TopicSubscriptionMultiplexer implements AutoCloseable {
+    private final MirrorTopicMessageSource source;
+    private final Settings settings;
+    private final ExecutorService deliveryExecutor;
+
+    private final BlockingQueue<Runnable> commands = new LinkedBlockingQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean running = true;
+    private Thread loopThread;
+
+    // 메시지를 받은 뒤 이 횟수만큼 연속으로 빈 조회가 나오기 전까지는 활성 토픽으로 보고 우선 조회 - 새로 구독한 토픽은 유휴 토픽으로 시작
+    private static final int ACTIVE_IDLE_POLLS = 4;
+
+    // dispatch loop 스레드 전용
+    private final Map<String, TopicState> topics = new ConcurrentHashMap<>();
+    private final PriorityQueue<TopicState> activeSchedule =
+            new PriorityQueue<>(Comparator.comparingLong(TopicState::nextPollAtNanos));
+    private final PriorityQueue<TopicState> idleSchedule =
+            new PriorityQueue<>(Comparator.comparingLong(TopicState::nextPollAtNanos));
+    private int inFlight;
+    private long nextRequestAtNanos = System.nanoTime();
+    private boolean idleLagExceeded;
+
+    /**
+     * @param source           메시지 조회 source
+     * @param settings         polling 설정
+     * @param deliveryExecutor 구독 콜백 실행 executor
+     */
+    public TopicSubscriptionMultiplexer(@NonNull MirrorTopicMessageSource source,
+                                        @NonNull Settings settings,
+                                        @NonNull ExecutorService deliveryExecutor) {
+        this.source = source;
+        this.settings = settings;
+        this.deliveryExecutor = deliveryExecutor;
+    }
+
+    /**
+     * 토픽 구독.
+     * <p>
+     * 이미 구독 중인 토픽이면 현재 조회 위치부터 함께 수신하며 afterSequenceNumber 는 무시됩니다.
+     * 콜백은 delivery executor 에서 호출되며, 오래 걸리는 처리는 별도 worker 로 넘겨야 다른 토픽의 전달이 지연되지 않습니다.
+     * </p>
+     *
+     * @param topicId             topicId
+     * @param afterSequenceNumber 이 sequence number 이후의 메시지부터 수신 (처음부터 수신하려면 0)
+     * @param onMessage           메시지 수신 콜백
+     * @return TopicSubscription
+     */
+    public TopicSubscription subscribe(@NonNull String topicId,
+                                       long afterSequenceNumber,
+                                       @NonNull Consumer<TopicMessageVo> onMessage) {
+        if (!running)
+            throw new IllegalStateException("Multiplexer is closed");
+
+        startLoopIfNeeded();
+
+        AtomicBoolean subscribed = new AtomicBoolean(true);
+        commands.add(() -> addListener(topicId, afterSequenceNumber, onMessage));
+
+        return () -> {
+            if (subscribed.compareAndSet(true, false))
+                commands.add(() -> removeListener(topicId, onMessage));
+        };
+    }
+
+    /**
+     * @return 현재 활성화된 토픽 수
+     */
+    public int activeTopicCount() {
+        return topics.size();
+    }
+
+    /**
+     * @return 현재 토픽 수에서 유휴 토픽의 새 메시지가 전달되기까지의 최대 지연 - max(maxPollInterval, 토픽 수 / maxRequestsPerSecond)
+     */
+    public Duration idleLagBound() {
+        return idleLagBound(topics.size());
+    }
+
+    private Duration idleLagBound(int topicCount) {
+        Duration rateLimited = Duration.ofNanos((long) (topicCount / settings.maxRequestsPerSecond() * TimeUnit.SECONDS.toNanos(1)));
+
+        return rateLimited.compareTo(settings.maxPollInterval()) > 0 ? rateLimited : settings.maxPollInterval();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        commands.add(() -> {
+        });
+
+        if (loopThread != null)
+            loopThread.join();
+
+        deliveryExecutor.shutdown();
+    }
+
+    private void startLoopIfNeeded() {
+        if (started.compareAndSet(false, true)) {
+            loopThread = new Thread(this::loop, "topic-multiplexer");
+            loopThread.setDaemon(true);
+            loopThread.start();
+        }
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                long waitNanos = pollDueTopics();
+                Runnable command = commands.poll(waitNanos, TimeUnit.NANOSECONDS);
+
+                while (command != null) {
+                    command.run();
+                    command = commands.poll();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in topic multiplexer loop", e);
+            }
+        }
+    }
+
+    // 조회 시점이 된 토픽을 maxInFlight 한도 내에서 활성 토픽부터 조회하고, 다음 조회 시점까지 대기할 시간을 반환합니다.
+    private long pollDueTopics() {
+        long now = System.nanoTime();
+
+        while (inFlight < settings.maxInFlight()) {
+            PriorityQueue<TopicState> due = dueSchedule(now);
+
+            if (due == null)
+                return untilNextPoll(now);
+
+            if (nextRequestAtNanos > now)
+                return nextRequestAtNanos - now;
+
+            TopicState state = due.poll();
+
+            if (state.pendingBytes.get() >= settings.perTopicBudgetBytes()) {
+                // 전달이 밀린 토픽은 조회를 미룸
+                state.nextPollAtNanos = now + settings.minPollInterval().toNanos();
+                schedulePoll(state);
+                continue;
+            }
+
+            fetch(state);
+        }
+
+        return settings.maxPollInterval().toNanos();
+    }
+
+    private PriorityQueue<TopicState> dueSchedule(long now) {
+        TopicState active = activeSchedule.peek();
+
+        if (active != null && active.nextPollAtNanos <= now)
+            return activeSchedule;
+
+        TopicState idle = idleSchedule.peek();
+
+        return idle != null && idle.nextPollAtNanos <= now ? idleSchedule : null;
+    }
+
+    private long untilNextPoll(long now) {
+        long next = now + settings.maxPollInterval().toNanos();
+
+        if (!activeSchedule.isEmpty())
+            next = Math.min(next, activeSchedule.peek().nextPollAtNanos);
+        if (!idleSchedule.isEmpty())
+            next = Math.min(next, idleSchedule.peek().nextPollAtNanos);
+
+        return Math.max(0, next - now);
+    }
+
+    private void schedulePoll(TopicState state) {
+        boolean active = state.receivedMessages && state.idlePolls < ACTIVE_IDLE_POLLS;
+
+        (active ? activeSchedule : idleSchedule).add(state);
+    }
+
+    private void unschedulePoll(TopicState state) {
+        if (!activeSchedule.remove(state))
+            idleSchedule.remove(state);
+    }
+
+    private void fetch(TopicState state) {
+        nextRequestAtNanos = Math.max(nextRequestAtNanos, System.nanoTime())
+                + (long) (TimeUnit.SECONDS.toNanos(1) / settings.maxRequestsPerSecond());
+        inFlight++;
+        state.fetching = true;
+
+        source.fetch(state.topicId, state.lastSequenceNumber, settings.pageSize())
+                .whenComplete((messages, error) -> commands.add(() -> onFetched(state, messages, error)));
+    }
+
+    private void onFetched(TopicState state, List<TopicMessageVo> messages, Throwable error) {
+        inFlight--;
+        state.fetching = false;
+
+        if (state.listeners.isEmpty())
+            return;
+
+        long now = System.nanoTime();
+
+        if (error != null) {
+            log.warn("Failed to fetch messages of topic {}: {}", state.topicId, error.getMessage());
+            state.nextPollAtNanos = now + settings.maxPollInterval().toNanos();
+        } else if (messages.isEmpty()) {
+            state.idlePolls = Math.min(state.idlePolls + 1, 30);
+            state.nextPollAtNanos = now + idleInterval(state.idlePolls);
+        } else {
+            state.idlePolls = 0;
+            state.receivedMessages = true;
+            state.lastSequenceNumber = messages.get(messages.size() - 1).sequenceNumber();
+            enqueue(state, messages);
+
+            // 페이지가 가득 찼으면 남은 메시지가 있으므로 바로 다시 조회
+            state.nextPollAtNanos = messages.size() >= settings.pageSize()
+                    ? now
+                    : now + settings.minPollInterval().toNanos();
+        }
+
+        schedulePoll(state);
+    }
+
+    private long idleInterval(int idlePolls) {
+        long interval = settings.minPollInterval().toNanos() << Math.min(idlePolls, 16);
+
+        return Math.min(interval, settings.maxPollInterval().toNanos());
+    }
+
+    private void addListener(String topicId, long afterSequenceNumber, Consumer<TopicMessageVo> onMessage) {
+        TopicState state = topics.get(topicId);
+
+        if (state == null) {
+            state = new TopicState(topicId, afterSequenceNumber);
+            topics.put(topicId, state);
+            state.listeners.add(onMessage);
+            schedulePoll(state);
+            checkIdleLag();
+            return;
+        }
+
+        state.listeners.add(onMessage);
+
+        if (state.idlePolls > 0 && !state.fetching) {
+            // 유휴 토픽에 새 구독자가 생기면 바로 조회
+            unschedulePoll(state);
+            state.idlePolls = 0;
+            state.nextPollAtNanos = System.nanoTime();
+            schedulePoll(state);
+        }
+    }
+
+    // 토픽 수가 늘어 유휴 토픽의 지연 상한이 maxIdleLag 를 넘는 시점에 한 번 경고
+    private void checkIdleLag() {
+        Duration bound = idleLagBound(topics.size());
+        boolean exceeded = bound.compareTo(settings.maxIdleLag()) > 0;
+
+        if (exceeded && !idleLagExceeded)
+            log.warn("Idle topic delivery lag can reach {} s with {} topics at {} requests/s, above max-idle-lag {} s",
+                    bound.toSeconds(), topics.size(), settings.maxRequestsPerSecond(), settings.maxIdleLag().toSeconds());
+
+        idleLagExceeded = exceeded;
+    }
+
+    private void removeListener(String topicId, Consumer<TopicMessageVo> onMessage) {
+        TopicState state = topics.get(topicId);
+
+        if (state == null)
+            return;
+
+        state.listeners.remove(onMessage);
+
+        if (state.listeners.isEmpty()) {
+            topics.remove(topicId);
+            unschedulePoll(state);
+            state.pending.clear();
+            state.pendingBytes.set(0);
+            checkIdleLag();
+        }
+    }
+
+    private void enqueue(TopicState state, List<TopicMessageVo> messages) {
+        for (TopicMessageVo message : messages) {
+            state.pending.add(message);
+            state.pendingBytes.addAndGet(sizeOf(message));
+        }
+
+        if (state.draining.compareAndSet(false, true))
+            deliveryExecutor.execute(() -> drain(state));
+    }
+
+    // 토픽 단위 직렬 전달 - draining 플래그를 가진 스레드만 전달합니다.
+    private void drain(TopicState state) {
+        do {
+            TopicMessageVo message;
+
+            while ((message = state.pending.poll()) != null) {
+                state.pendingBytes.addAndGet(-sizeOf(message));
+
+                for (Consumer<TopicMessageVo> listener : state.listeners) {
+                    try {
+                        listener.accept(message);
+                    } catch (RuntimeException e) {
+                        log.error("Subscriber of topic {} failed on message {}", state.topicId, message.sequenceNumber(), e);
+                    }
+                }
+            }
+
+            state.draining.set(false);
+        } while (!state.pending.isEmpty() && state.draining.compareAndSet(false, true));
+    }
+
+    private static long sizeOf(TopicMessageVo message) {
+        return message.contents().length + message.runningHash().length;
+    }
+
+    private static final class TopicState {
+        private final String topicId;
+        private final List<Consumer<TopicMessageVo>> listeners = new CopyOnWriteArrayList<>();
+        private final Queue<TopicMessageVo> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicLong pendingBytes = new AtomicLong();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private long lastSequenceNumber;
+        private long nextPollAtNanos = System.nanoTime();
+        private int idlePolls;
+        private boolean receivedMessages;
+        private boolean fetching;
+
+        private TopicState(String topicId, long lastSequenceNumber) {
+            this.topicId = topicId;
+            this.lastSequenceNumber = lastSequenceNumber;
+        }
+
+        private long nextPollAtNanos() {
+            return nextPollAtNanos;
+        }
+    }
+
+    /**
+     * multiplexer 설정.
+     *
+     * @param pageSize            조회 1회당 최대 메시지 수 (mirror node 최대 100)
+     * @param minPollInterval     메시지가 있는 토픽의 polling 간격
+     * @param maxPollInterval     유휴 토픽의 최대 polling 간격
+     * @param maxInFlight         동시에 진행할 수 있는 조회 요청 수
+     * @param perTopicBudgetBytes 토픽별로 전달 대기 중인 메시지의 최대 크기
+     * @param maxRequestsPerSecond 전체 조회 요청의 초당 최대 수
+     * @param maxIdleLag          유휴 토픽의 새 메시지 전달 지연 목표 - 토픽 수로 계산한 상한이 이를 넘으면 경고합니다.
+     */
+    public record Settings(int pageSize,
+                           Duration minPollInterval,
+                           Duration maxPollInterval,
+                           int maxInFlight,
+                           long perTopicBudgetBytes,
+                           double maxRequestsPerSecond,
+                           Duration maxIdleLag) {
+
+        public Settings {
+            if (pageSize <= 0 || maxInFlight <= 0 || perTopicBudgetBytes <= 0 || maxRequestsPerSecond <= 0)
+                throw new IllegalArgumentException("pageSize, maxInFlight, perTopicBudgetBytes and maxRequestsPerSecond must be positive");
+            if (minPollInterval.compareTo(maxPollInterval) > 0)
+                throw new IllegalArgumentException("minPollInterval cannot exceed maxPollInterval");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.hedera.consensus.vo;
+
+import com.hedera.hashgraph.sdk.TopicId;
+import com.hedera.hashgraph.sdk.TransactionId;
+
+/**
+ * 메시지 전송 결과 - 식별자만 보관합니다.
+ * <p>
+ * 메시지 본문은 보관하지 않으며, topicId/transactionId 는 SDK 객체 그대로 두어 필요할 때만 문자열로 변환합니다.
+ *
+ * @param topicId        topicId
+ * @param transactionId  transactionId
+ * @param sequenceNumber 토픽 내 메시지 sequence number, 영수증에 없으면 -1
+ */
+public record MessageReceiptVo(TopicId topicId, TransactionId transactionId, long sequenceNumber) {
+}
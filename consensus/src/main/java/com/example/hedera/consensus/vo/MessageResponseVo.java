@@ -1,4 +1,14 @@
 package com.example.hedera.consensus.vo;
 
+/**
+ * 메시지 전송 결과.
+ * <p>
+ * message 는 기존 호출자가 결과에서 본문을 읽으므로 유지합니다. 호출자가 넘긴 String 참조를 그대로 담을 뿐 복사하지 않아
+ * 본문 크기만큼의 추가 할당은 없습니다. 본문이 필요 없으면 {@link MessageReceiptVo} 를 반환하는 submitMessageLean 을 사용합니다.
+ *
+ * @param topicId    topicId
+ * @param message    전송한 메시지 (호출자가 넘긴 참조)
+ * @param messageSeq 토픽 내 메시지 sequence number
+ */
 public record MessageResponseVo(String topicId, String message, Long messageSeq) {
 }
@@ -0,0 +1,15 @@
+package com.example.hedera.consensus.vo;
+
+/**
+ * 영수증 없이 전송한 메시지의 전송 결과.
+ *
+ * @param topicId       topicId
+ * @param transactionId transactionId
+ * @param duplicate     같은 transactionId 로 이미 제출되어 노드가 DUPLICATE_TRANSACTION 으로 거절했는지 여부
+ */
+public record MessageSubmitResponseVo(String topicId, String transactionId, boolean duplicate) {
+
+    public MessageSubmitResponseVo(String topicId, String transactionId) {
+        this(topicId, transactionId, false);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.hedera.consensus.vo;
+
+import com.hedera.hashgraph.sdk.TopicMessage;
+import lombok.NonNull;
+
+import java.time.Instant;
+
+/**
+ * 구독으로 수신한 토픽 메시지.
+ * <p>SDK 스트림(gRPC)과 mirror node REST API 응답을 같은 형태로 다루기 위한 VO 입니다.</p>
+ *
+ * @param topicId            topicId
+ * @param sequenceNumber     토픽 내 sequence number
+ * @param consensusTimestamp consensus timestamp
+ * @param contents           메시지 내용
+ * @param runningHash        running hash
+ * @param transactionId      최초 트랜잭션 ID(mirror node 가 제공하지 않으면 null)
+ */
+public record TopicMessageVo(String topicId,
+                             long sequenceNumber,
+                             Instant consensusTimestamp,
+                             byte[] contents,
+                             byte[] runningHash,
+                             String transactionId) {
+
+    public static TopicMessageVo of(@NonNull String topicId, @NonNull TopicMessage topicMessage) {
+        return new TopicMessageVo(
+                topicId,
+                topicMessage.sequenceNumber,
+                topicMessage.consensusTimestamp,
+                topicMessage.contents,
+                topicMessage.runningHash,
+                topicMessage.transactionId != null ? topicMessage.transactionId.toString() : null
+        );
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.hedera.consensus.dispatch;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+// dispatch 나 close 가 block 되어도 빌드가 멈추지 않도록 제한
+@Timeout(10)
+class OrderedMessageDispatcherTest {
+
+    @Test
+    void preservesOrderPerKeyAndCommitsLastSequence() throws InterruptedException {
+        Map<Integer, List<Long>> processed = new ConcurrentHashMap<>();
+        List<Long> checkpoints = new CopyOnWriteArrayList<>();
+
+        OrderedMessageDispatcher<Message> dispatcher = new OrderedMessageDispatcher<>(
+                4, 16, Message::key, Message::sequence,
+                message -> processed.computeIfAbsent(message.key(), key -> new CopyOnWriteArrayList<>()).add(message.sequence()),
+                checkpoints::add);
+
+        for (long sequence = 1; sequence <= 1_000; sequence++)
+            dispatcher.dispatch(new Message((int) (sequence % 10), sequence));
+
+        dispatcher.close();
+
+        processed.values().forEach(sequences -> Assertions.assertThat(sequences).isSorted());
+        Assertions.assertThat(checkpoints).isSorted();
+        Assertions.assertThat(dispatcher.getCommittedCheckpoint()).isEqualTo(1_000);
+    }
+
+    @Test
+    void checkpointStopsBelowUnfinishedMessage() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch othersDone = new CountDownLatch(4);
+
+        OrderedMessageDispatcher<Message> dispatcher = new OrderedMessageDispatcher<>(
+                2, 16, Message::key, Message::sequence,
+                message -> {
+                    if (message.sequence() == 2) {
+                        await(release);
+                    } else {
+                        othersDone.countDown();
+                    }
+                },
+                checkpoint -> {
+                });
+
+        List<Message> messages = new ArrayList<>();
+        messages.add(new Message(0, 1));
+        messages.add(new Message(1, 2));
+        messages.add(new Message(0, 3));
+        messages.add(new Message(0, 4));
+        messages.add(new Message(0, 5));
+        messages.forEach(dispatcher::dispatch);
+
+        Assertions.assertThat(othersDone.await(5, TimeUnit.SECONDS)).isTrue();
+        // commit 은 committer 스레드에서 비동기로 수행
+        awaitTrue(() -> dispatcher.getCommittedCheckpoint() == 1);
+
+        release.countDown();
+        dispatcher.close();
+
+        Assertions.assertThat(dispatcher.getCommittedCheckpoint()).isEqualTo(5);
+    }
+
+    @Test
+    void slowCheckpointCommitDoesNotBlockWorkers() throws InterruptedException {
+        CountDownLatch commitStarted = new CountDownLatch(1);
+        CountDownLatch releaseCommit = new CountDownLatch(1);
+        CountDownLatch handled = new CountDownLatch(100);
+
+        OrderedMessageDispatcher<Message> dispatcher = new OrderedMessageDispatcher<>(
+                4, 16, Message::key, Message::sequence,
+                message -> handled.countDown(),
+                checkpoint -> {
+                    commitStarted.countDown();
+                    await(releaseCommit);
+                });
+
+        for (long sequence = 1; sequence <= 100; sequence++)
+            dispatcher.dispatch(new Message((int) (sequence % 10), sequence));
+
+        Assertions.assertThat(commitStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+
+        releaseCommit.countDown();
+        dispatcher.close();
+
+        Assertions.assertThat(dispatcher.getCommittedCheckpoint()).isEqualTo(100);
+    }
+
+    @Test
+    void retriesFailedMessageBeforeNextMessageOfSameKey() throws InterruptedException {
+        List<Long> processed = new CopyOnWriteArrayList<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        OrderedMessageDispatcher<Message> dispatcher = new OrderedMessageDispatcher<>(
+                1, 16, Message::key, Message::sequence,
+                message -> {
+                    if (message.sequence() == 2 && failures.getAndIncrement() < 2)
+                        throw new IllegalStateException("temporary failure");
+
+                    processed.add(message.sequence());
+                },
+                checkpoint -> {
+                },
+                3, Duration.ofMillis(1));
+
+        for (long sequence = 1; sequence <= 3; sequence++)
+            dispatcher.dispatch(new Message(0, sequence));
+
+        dispatcher.close();
+
+        Assertions.assertThat(processed).containsExactly(1L, 2L, 3L);
+        Assertions.assertThat(dispatcher.getFailedCount()).isZero();
+        Assertions.assertThat(dispatcher.getCommittedCheckpoint()).isEqualTo(3);
+    }
+
+    @Test
+    void stopsKeyAfterRetriesAreExhausted() throws InterruptedException {
+        List<Long> processed = new CopyOnWriteArrayList<>();
+
+        OrderedMessageDispatcher<Message> dispatcher = new OrderedMessageDispatcher<>(
+                2, 16, Message::key, Message::sequence,
+                message -> {
+                    if (message.sequence() == 2)
+                        throw new IllegalStateException("permanent failure");
+
+                    processed.add(message.sequence());
+                },
+                checkpoint -> {
+                },
+                2, Duration.ofMillis(1));
+
+        dispatcher.dispatch(new Message(0, 1));
+        dispatcher.dispatch(new Message(1, 2));
+        dispatcher.dispatch(new Message(0, 3));
+        dispatcher.dispatch(new Message(1, 4));
+        dispatcher.close();
+
+        // key 1 의 이후 메시지(4)는 처리하지 않음
+        Assertions.assertThat(processed).containsExactlyInAnyOrder(1L, 3L);
+        Assertions.assertThat(dispatcher.getStoppedKeyCount()).isEqualTo(1);
+        Assertions.assertThat(dispatcher.getFailedCount()).isEqualTo(2);
+        Assertions.assertThat(dispatcher.getCommittedCheckpoint()).isEqualTo(1);
+    }
+
+    @Test
+    void handlerErrorStopsKeyWithoutKillingWorker() throws InterruptedException {
+        List<Long> processed = new CopyOnWriteArrayList<>();
+
+        OrderedMessageDispatcher<Message> dispatcher = new OrderedMessageDispatcher<>(
+                1, 2, Message::key, Message::sequence,
+                message -> {
+                    if (message.sequence() == 1)
+                        throw new AssertionError("handler error");
+
+                    processed.add(message.sequence());
+                },
+                checkpoint -> {
+                },
+                1, Duration.ofMillis(1));
+
+        // 큐 크기(2)보다 많은 메시지 - worker 가 죽으면 dispatch 가 block 됨
+        for (long sequence = 1; sequence <= 10; sequence++)
+            dispatcher.dispatch(new Message(sequence == 1 ? 0 : 1, sequence));
+
+        dispatcher.close();
+
+        Assertions.assertThat(processed).hasSize(9);
+        Assertions.assertThat(dispatcher.getStoppedKeyCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsDispatchAfterClose() throws InterruptedException {
+        OrderedMessageDispatcher<Message> dispatcher = new OrderedMessageDispatcher<>(
+                1, 16, Message::key, Message::sequence,
+                message -> {
+                },
+                checkpoint -> {
+                });
+
+        dispatcher.dispatch(new Message(0, 1));
+        dispatcher.close();
+
+        Assertions.assertThatThrownBy(() -> dispatcher.dispatch(new Message(0, 2)))
+                .isInstanceOf(IllegalStateException.class);
+        Assertions.assertThat(dispatcher.getCommittedCheckpoint()).isEqualTo(1);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline)
+                throw new AssertionError("Condition not met within 5 seconds");
+
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Message(int key, long sequence) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.hedera.consensus.helper;
+
+import com.hedera.hashgraph.sdk.TopicId;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TopicIdCacheTest {
+
+    @Test
+    void reusesParsedTopicId() {
+        TopicIdCache cache = new TopicIdCache(2);
+
+        Assertions.assertThat(cache.get("0.0.1001")).isSameAs(cache.get("0.0.1001"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedTopicOnly() {
+        TopicIdCache cache = new TopicIdCache(2);
+
+        TopicId first = cache.get("0.0.1001");
+        cache.get("0.0.1002");
+        cache.get("0.0.1001");
+        cache.get("0.0.1003");
+
+        // 최근에 사용한 0.0.1001 은 남고 0.0.1002 만 제거됨
+        Assertions.assertThat(cache.size()).isEqualTo(2);
+        Assertions.assertThat(cache.get("0.0.1001")).isSameAs(first);
+    }
+
+    @Test
+    void parsesEveryTimeWhenDisabled() {
+        TopicIdCache cache = new TopicIdCache(0);
+
+        Assertions.assertThat(cache.get("0.0.1001")).isEqualTo(TopicId.fromString("0.0.1001"));
+        Assertions.assertThat(cache.size()).isZero();
+    }
+}
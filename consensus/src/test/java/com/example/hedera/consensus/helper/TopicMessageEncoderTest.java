@@ -0,0 +1,38 @@
+package com.example.hedera.consensus.helper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+class TopicMessageEncoderTest {
+
+    @Test
+    void encodesSameBytesAsGetBytes() {
+        String message = "hello 헤데라 😀";
+
+        Assertions.assertThat(TopicMessageEncoder.encode(message).toByteArray())
+                .isEqualTo(message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void acceptsMessageOfExactlyMaxSize() {
+        Assertions.assertThat(TopicMessageEncoder.encode("x".repeat(1024)).size()).isEqualTo(1024);
+    }
+
+    @Test
+    void rejectsMessageOverMaxSize() {
+        // 342 * 3byte = 1026byte
+        Assertions.assertThatThrownBy(() -> TopicMessageEncoder.encode("가".repeat(342)))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> TopicMessageEncoder.encode("x".repeat(1025)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void reusedBufferDoesNotLeakPreviousMessage() {
+        TopicMessageEncoder.encode("x".repeat(1000));
+
+        Assertions.assertThat(TopicMessageEncoder.encode("ab").toStringUtf8()).isEqualTo("ab");
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.hedera.consensus.publish;
+
+import com.example.hedera.consensus.helper.ConsensusHelper;
+import com.example.hedera.consensus.vo.MessageSubmitResponseVo;
+import com.example.hedera.consensus.vo.TopicMessageVo;
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.PrecheckStatusException;
+import com.hedera.hashgraph.sdk.ReceiptStatusException;
+import com.hedera.hashgraph.sdk.SubscriptionHandle;
+import com.hedera.hashgraph.sdk.TransactionId;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FireAndForgetPublisherTest {
+    private static final String TOPIC_ID = "0.0.1001";
+
+    @Test
+    void confirmsByTransactionId() throws PrecheckStatusException, TimeoutException {
+        ConsensusHelper consensusHelper = mockConsensusHelper("0.0.2@1700000000.000000001");
+        FireAndForgetPublisher publisher = newPublisher(consensusHelper, Duration.ofMinutes(1));
+
+        FireAndForgetPublisher.PendingMessage pending = publisher.publish(TOPIC_ID, "hello");
+        publisher.onMessage(message("other contents", "0.0.2@1700000000.000000001"));
+
+        Assertions.assertThat(pending.getConfirmation()).isCompleted();
+        Assertions.assertThat(publisher.pendingCount()).isZero();
+
+        publisher.close();
+    }
+
+    @Test
+    void confirmsByContentsWhenTransactionIdIsMissing() throws PrecheckStatusException, TimeoutException {
+        ConsensusHelper consensusHelper = mockConsensusHelper("0.0.2@1700000000.000000001");
+        FireAndForgetPublisher publisher = newPublisher(consensusHelper, Duration.ofMinutes(1));
+
+        FireAndForgetPublisher.PendingMessage pending = publisher.publish(TOPIC_ID, "hello");
+        publisher.onMessage(message("unrelated", null));
+
+        Assertions.assertThat(pending.getConfirmation()).isNotDone();
+
+        publisher.onMessage(message("hello", null));
+
+        Assertions.assertThat(pending.getConfirmation()).isCompleted();
+
+        publisher.close();
+    }
+
+    @Test
+    void ignoresSameContentsWithDifferentTransactionId() throws PrecheckStatusException, TimeoutException {
+        ConsensusHelper consensusHelper = mockConsensusHelper("0.0.2@1700000000.000000001");
+        FireAndForgetPublisher publisher = newPublisher(consensusHelper, Duration.ofMinutes(1));
+
+        FireAndForgetPublisher.PendingMessage pending = publisher.publish(TOPIC_ID, "hello");
+        publisher.onMessage(message("hello", "0.0.9@1700000000.000000002"));
+
+        Assertions.assertThat(pending.getConfirmation()).isNotDone();
+        Assertions.assertThat(publisher.pendingCount()).isOne();
+
+        publisher.close();
+    }
+
+    @Test
+    void ignoresSameContentsReachedBeforeFirstValidStart() throws PrecheckStatusException, TimeoutException {
+        ConsensusHelper consensusHelper = mockConsensusHelper(recentTransactionId());
+        FireAndForgetPublisher publisher = newPublisher(consensusHelper, Duration.ofMinutes(1));
+
+        FireAndForgetPublisher.PendingMessage pending = publisher.publish(TOPIC_ID, "hello");
+        publisher.onMessage(new TopicMessageVo(TOPIC_ID, 1, Instant.now().minus(Duration.ofMinutes(1)),
+                "hello".getBytes(StandardCharsets.UTF_8), new byte[48], null));
+
+        Assertions.assertThat(pending.getConfirmation()).isNotDone();
+        Assertions.assertThat(publisher.pendingCount()).isOne();
+
+        publisher.close();
+    }
+
+    @Test
+    void confirmsMessageReceivedBeforeSubmitReturns() throws PrecheckStatusException, TimeoutException {
+        String transactionId = recentTransactionId();
+        ConsensusHelper consensusHelper = mockConsensusHelper(transactionId);
+        FireAndForgetPublisher publisher = newPublisher(consensusHelper, Duration.ofMinutes(1));
+
+        // 전송이 반환되기 전에 구독으로 먼저 수신
+        when(consensusHelper.submitMessageWithoutReceipt(TOPIC_ID, "hello", transactionId)).thenAnswer(invocation -> {
+            publisher.onMessage(message("hello", transactionId));
+            return new MessageSubmitResponseVo(TOPIC_ID, transactionId);
+        });
+
+        FireAndForgetPublisher.PendingMessage pending = publisher.publish(TOPIC_ID, "hello");
+
+        Assertions.assertThat(pending.getConfirmation()).isCompleted();
+        Assertions.assertThat(publisher.pendingCount()).isZero();
+
+        publisher.close();
+    }
+
+    @Test
+    void resubmitsSameTransactionIdWithinValidityWindow() throws PrecheckStatusException, TimeoutException {
+        String transactionId = recentTransactionId();
+        ConsensusHelper consensusHelper = mockConsensusHelper(transactionId);
+        FireAndForgetPublisher publisher = newPublisher(consensusHelper, Duration.ZERO);
+
+        FireAndForgetPublisher.PendingMessage pending = publisher.publish(TOPIC_ID, "hello");
+        publisher.sweep();
+
+        verify(consensusHelper, times(1)).newTransactionId();
+        verify(consensusHelper, times(2)).submitMessageWithoutReceipt(TOPIC_ID, "hello", transactionId);
+        Assertions.assertThat(pending.getTransactionId()).isEqualTo(transactionId);
+
+        publisher.close();
+    }
+
+    @Test
+    void confirmsDuplicateByRecord() throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
+        String transactionId = recentTransactionId();
+        ConsensusHelper consensusHelper = mockConsensusHelper(transactionId);
+        TopicMessageVo record = message("hello", transactionId);
+        when(consensusHelper.submitMessageWithoutReceipt(TOPIC_ID, "hello", transactionId))
+                .thenReturn(new MessageSubmitResponseVo(TOPIC_ID, transactionId))
+                .thenReturn(new MessageSubmitResponseVo(TOPIC_ID, transactionId, true));
+        when(consensusHelper.getSubmittedMessage(TOPIC_ID, "hello", transactionId)).thenReturn(record);
+        FireAndForgetPublisher publisher = newPublisher(consensusHelper, Duration.ZERO);
+
+        FireAndForgetPublisher.PendingMessage pending = publisher.publish(TOPIC_ID, "hello");
+        publisher.sweep();
+
+        // 재전송에서 이미 제출된 것으로 확인되면 구독을 기다리지 않고 record 로 확인
+        Assertions.assertThat(pending.getConfirmation()).isCompletedWithValue(record);
+        Assertions.assertThat(publisher.pendingCount()).isZero();
+
+        publisher.close();
+    }
+
+    @Test
+    void resubmitsThenFailsAfterMaxAttempts() throws PrecheckStatusException, TimeoutException {
+        ConsensusHelper consensusHelper = mockConsensusHelper("0.0.2@1700000000.000000001");
+        FireAndForgetPublisher publisher = newPublisher(consensusHelper, Duration.ZERO);
+
+        FireAndForgetPublisher.PendingMessage pending = publisher.publish(TOPIC_ID, "hello");
+
+        publisher.sweep();
+        // 유효 기간이 지난 transactionId 는 새로 만들어 전송
+        verify(consensusHelper, times(2)).newTransactionId();
+        verify(consensusHelper, times(2)).submitMessageWithoutReceipt(eq(TOPIC_ID), eq("hello"), anyString());
+        Assertions.assertThat(pending.getConfirmation()).isNotDone();
+
+        publisher.sweep();
+        Assertions.assertThat(pending.getConfirmation()).isCompletedExceptionally();
+        Assertions.assertThat(publisher.pendingCount()).isZero();
+
+        publisher.close();
+    }
+
+    private FireAndForgetPublisher newPublisher(ConsensusHelper consensusHelper, Duration confirmTimeout) {
+        // 재전송을 sweep 스레드에서 바로 실행하여 결과를 확인
+        return new FireAndForgetPublisher(consensusHelper, confirmTimeout, 2, Duration.ofMinutes(5), Duration.ofHours(1), Runnable::run);
+    }
+
+    private ConsensusHelper mockConsensusHelper(String transactionId) throws PrecheckStatusException, TimeoutException {
+        ConsensusHelper consensusHelper = Mockito.mock(ConsensusHelper.class);
+
+        when(consensusHelper.getTopicMessages(eq(TOPIC_ID), any(), any(), any()))
+                .thenReturn(Mockito.mock(SubscriptionHandle.class));
+        when(consensusHelper.newTransactionId()).thenReturn(transactionId);
+        when(consensusHelper.submitMessageWithoutReceipt(eq(TOPIC_ID), anyString(), anyString()))
+                .thenAnswer(invocation -> new MessageSubmitResponseVo(TOPIC_ID, invocation.getArgument(2)));
+
+        return consensusHelper;
+    }
+
+    private static String recentTransactionId() {
+        return TransactionId.withValidStart(AccountId.fromString("0.0.2"), Instant.now()).toString();
+    }
+
+    private TopicMessageVo message(String contents, String transactionId) {
+        return new TopicMessageVo(TOPIC_ID, 1, Instant.now(), contents.getBytes(StandardCharsets.UTF_8), new byte[48], transactionId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.hedera.consensus.shard;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+class LogicalTopicRegistryTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void otherInstanceSeesReshard() {
+        // 같은 디렉토리를 공유하는 두 프로세스
+        LogicalTopicRegistry publisher = new LogicalTopicRegistry(directory.toString());
+        LogicalTopicRegistry resharder = new LogicalTopicRegistry(directory.toString());
+        LogicalTopic orders = new LogicalTopic("orders", 0, List.of("0.0.1001", "0.0.1002"));
+
+        resharder.register(orders);
+        Assertions.assertThat(publisher.find("orders")).contains(orders);
+
+        LogicalTopic resharded = orders.withAdditionalShards(List.of("0.0.1003"));
+        resharder.register(resharded);
+
+        Assertions.assertThat(publisher.find("orders")).contains(resharded);
+    }
+
+    @Test
+    void rejectsStaleEpoch() {
+        LogicalTopicRegistry registry = new LogicalTopicRegistry(directory.toString());
+        LogicalTopic orders = new LogicalTopic("orders", 0, List.of("0.0.1001"));
+
+        registry.register(orders.withAdditionalShards(List.of("0.0.1002")));
+
+        // 오래된 구성으로 reshard 한 결과는 등록되지 않음
+        Assertions.assertThatThrownBy(() -> registry.register(orders.withAdditionalShards(List.of("0.0.1003"))))
+                .isInstanceOf(IllegalStateException.class);
+        Assertions.assertThat(registry.find("orders").orElseThrow().shardTopicIds())
+                .containsExactly("0.0.1001", "0.0.1002");
+        Assertions.assertThat(registry.find("missing")).isEmpty();
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.hedera.consensus.shard;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class OrderedTopicMergerTest {
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void mergesByTimestamp() {
+        List<Long> merged = new ArrayList<>();
+        OrderedTopicMerger<Long> merger = newMerger(merged, new MutableClock(BASE));
+
+        merger.offer(0, 1L);
+        merger.offer(0, 4L);
+        merger.offer(1, 2L);
+        merger.offer(1, 3L);
+        merger.offer(1, 5L);
+
+        Assertions.assertThat(merged).containsExactly(1L, 2L, 3L, 4L);
+        Assertions.assertThat(merger.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void emitsAfterMaxLatenessSinceArrivalWhenShardIsIdle() {
+        List<Long> merged = new ArrayList<>();
+        MutableClock clock = new MutableClock(BASE.plusSeconds(3600));
+        OrderedTopicMerger<Long> merger = newMerger(merged, clock);
+
+        merger.offer(0, 1L);
+        Assertions.assertThat(merged).isEmpty();
+
+        clock.advance(Duration.ofSeconds(5));
+        merger.flush();
+
+        Assertions.assertThat(merged).containsExactly(1L);
+    }
+
+    @Test
+    void keepsReplayOfOldTimestampsOrdered() {
+        List<Long> merged = new ArrayList<>();
+        // 데이터보다 하루 뒤의 시계 - timestamp 기준이면 모두 바로 방출됨
+        MutableClock clock = new MutableClock(BASE.plus(Duration.ofDays(1)));
+        OrderedTopicMerger<Long> merger = newMerger(merged, clock);
+
+        merger.offer(0, 10L);
+        merger.offer(0, 30L);
+        merger.offer(0, 50L);
+        clock.advance(Duration.ofMillis(100));
+        merger.offer(1, 20L);
+        merger.offer(0, 70L);
+        merger.offer(1, 40L);
+        clock.advance(Duration.ofMillis(100));
+        merger.offer(1, 60L);
+        merger.offer(1, 80L);
+
+        Assertions.assertThat(merged).containsExactly(10L, 20L, 30L, 40L, 50L, 60L, 70L);
+
+        clock.advance(Duration.ofSeconds(5));
+        merger.flush();
+
+        Assertions.assertThat(merged).containsExactly(10L, 20L, 30L, 40L, 50L, 60L, 70L, 80L);
+    }
+
+    @Test
+    void addedSourceJoinsMerge() {
+        List<Long> merged = new ArrayList<>();
+        OrderedTopicMerger<Long> merger = newMerger(merged, new MutableClock(BASE));
+
+        merger.offer(0, 1L);
+        merger.offer(1, 2L);
+        int added = merger.addSource();
+
+        merger.offer(0, 5L);
+        merger.offer(1, 6L);
+        // 새 source 의 진행을 기다림
+        Assertions.assertThat(merged).containsExactly(1L);
+
+        merger.offer(added, 3L);
+        merger.offer(added, 7L);
+
+        Assertions.assertThat(added).isEqualTo(2);
+        Assertions.assertThat(merged).containsExactly(1L, 2L, 3L, 5L);
+    }
+
+    @Test
+    void flushAllDeliversBufferedMessages() {
+        List<Long> merged = new ArrayList<>();
+        OrderedTopicMerger<Long> merger = newMerger(merged, new MutableClock(BASE));
+
+        merger.offer(0, 3L);
+        merger.offer(0, 1L);
+
+        Assertions.assertThat(merged).isEmpty();
+        Assertions.assertThat(merger.flushAll()).isEqualTo(2);
+        Assertions.assertThat(merged).containsExactly(1L, 3L);
+        Assertions.assertThat(merger.pendingCount()).isZero();
+    }
+
+    @Test
+    void slowDownstreamDoesNotBlockOtherSources() throws InterruptedException {
+        CountDownLatch delivering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> merged = new CopyOnWriteArrayList<>();
+        OrderedTopicMerger<Long> merger = new OrderedTopicMerger<>(1, BASE::plusMillis, Duration.ofSeconds(5),
+                new MutableClock(BASE), message -> {
+            delivering.countDown();
+            awaitQuietly(release);
+            merged.add(message);
+        });
+
+        Thread first = new Thread(() -> merger.offer(0, 1L));
+        first.start();
+        Assertions.assertThat(delivering.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 전달 중인 스레드가 이어서 전달하므로 바로 반환
+        Thread second = new Thread(() -> merger.offer(0, 2L));
+        second.start();
+        second.join(5_000);
+        Assertions.assertThat(second.isAlive()).isFalse();
+
+        release.countDown();
+        first.join(5_000);
+
+        Assertions.assertThat(merged).containsExactly(1L, 2L);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private OrderedTopicMerger<Long> newMerger(List<Long> merged, Clock clock) {
+        return new OrderedTopicMerger<>(2, BASE::plusMillis, Duration.ofSeconds(5), clock, merged::add);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
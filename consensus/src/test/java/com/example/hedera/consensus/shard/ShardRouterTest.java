@@ -0,0 +1,34 @@
+package com.example.hedera.consensus.shard;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ShardRouterTest {
+
+    @Test
+    void sameKeyMapsToSameShard() {
+        int first = ShardRouter.shardOf("customer-1", 8);
+
+        for (int i = 0; i < 100; i++)
+            Assertions.assertThat(ShardRouter.shardOf("customer-1", 8)).isEqualTo(first);
+    }
+
+    @Test
+    void reshardOnlyMovesKeysToNewShards() {
+        int moved = 0;
+
+        for (int i = 0; i < 10_000; i++) {
+            String key = "key-" + i;
+            int before = ShardRouter.shardOf(key, 4);
+            int after = ShardRouter.shardOf(key, 6);
+
+            if (before != after) {
+                moved++;
+                Assertions.assertThat(after).isGreaterThanOrEqualTo(4);
+            }
+        }
+
+        // 기대 이동 비율 2/6
+        Assertions.assertThat(moved).isBetween(3_000, 3_700);
+    }
+}
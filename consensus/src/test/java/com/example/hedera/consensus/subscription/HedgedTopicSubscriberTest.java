@@ -0,0 +1,153 @@
+package com.example.hedera.consensus.subscription;
+
+import com.example.hedera.consensus.vo.TopicMessageVo;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+class HedgedTopicSubscriberTest {
+    private static final int MESSAGE_COUNT = 20;
+    private static final long MESSAGE_INTERVAL_MILLIS = 20;
+
+    @Test
+    void deliversFirstCopyAndDemotesLaggingEndpoint() throws InterruptedException {
+        HedgedTopicSubscriber subscriber = new HedgedTopicSubscriber(
+                List.of(new MirrorStandIn("fast", 0, Long.MAX_VALUE), new MirrorStandIn("slow", 300, Long.MAX_VALUE)),
+                settings());
+        List<Long> received = new CopyOnWriteArrayList<>();
+
+        HedgedTopicSubscriber.HedgedSubscription subscription =
+                subscriber.subscribe("0.0.1001", null, message -> received.add(message.sequenceNumber()));
+
+        awaitTrue(() -> received.size() == MESSAGE_COUNT && subscription.activeEndpoints().equals(List.of("fast")));
+        Assertions.assertThat(received).isSorted().doesNotHaveDuplicates();
+
+        subscription.unsubscribe();
+        subscriber.close();
+    }
+
+    @Test
+    void keepsDeliveringWhenOneEndpointStalls() throws InterruptedException {
+        HedgedTopicSubscriber subscriber = new HedgedTopicSubscriber(
+                List.of(new MirrorStandIn("stalling", 0, 5), new MirrorStandIn("steady", 50, Long.MAX_VALUE)),
+                settings());
+        List<Long> received = new CopyOnWriteArrayList<>();
+
+        HedgedTopicSubscriber.HedgedSubscription subscription =
+                subscriber.subscribe("0.0.1001", null, message -> received.add(message.sequenceNumber()));
+
+        awaitTrue(() -> received.size() == MESSAGE_COUNT && subscription.activeEndpoints().equals(List.of("steady")));
+        Assertions.assertThat(received).isSorted().doesNotHaveDuplicates();
+
+        subscription.unsubscribe();
+        subscriber.close();
+    }
+
+    @Test
+    void reconnectsLastEndpointWithoutProbationOnError() throws InterruptedException {
+        HedgedTopicSubscriber subscriber = new HedgedTopicSubscriber(
+                List.of(new MirrorStandIn("only", 0, Long.MAX_VALUE, 5)),
+                settings());
+        List<Long> received = new CopyOnWriteArrayList<>();
+
+        HedgedTopicSubscriber.HedgedSubscription subscription =
+                subscriber.subscribe("0.0.1001", null, message -> received.add(message.sequenceNumber()));
+
+        // probation(30s) 을 기다리지 않고 재구독하여 나머지 메시지를 수신
+        awaitTrue(() -> received.size() == MESSAGE_COUNT);
+        Assertions.assertThat(received).isSorted().doesNotHaveDuplicates();
+        Assertions.assertThat(subscription.activeEndpoints()).containsExactly("only");
+
+        subscription.unsubscribe();
+        subscriber.close();
+    }
+
+    private HedgedTopicSubscriber.Settings settings() {
+        return new HedgedTopicSubscriber.Settings(64, Duration.ofMillis(100), 3, Duration.ofSeconds(30), Duration.ofMillis(50));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline)
+                throw new AssertionError("Condition not met within 10 seconds");
+
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * 지연을 주입할 수 있는 로컬 mirror node 대체 구현.
+     * 메시지 i 는 i * MESSAGE_INTERVAL_MILLIS + delayMillis 시점에 전달되며, stallAfter 이후의 메시지는 전달하지 않습니다.
+     * 첫 구독에서만 failOnceAfter 번째 메시지 이후 오류를 전달합니다.
+     */
+    private static final class MirrorStandIn implements MirrorMessageStream {
+        private final String name;
+        private final long delayMillis;
+        private final long stallAfter;
+        private final long failOnceAfter;
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        private boolean failed;
+
+        private MirrorStandIn(String name, long delayMillis, long stallAfter) {
+            this(name, delayMillis, stallAfter, Long.MAX_VALUE);
+        }
+
+        private MirrorStandIn(String name, long delayMillis, long stallAfter, long failOnceAfter) {
+            this.name = name;
+            this.delayMillis = delayMillis;
+            this.stallAfter = stallAfter;
+            this.failOnceAfter = failOnceAfter;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public TopicSubscription subscribe(String topicId,
+                                           Instant startTime,
+                                           Consumer<TopicMessageVo> onMessage,
+                                           Consumer<Throwable> onError) {
+            List<ScheduledFuture<?>> scheduled = new CopyOnWriteArrayList<>();
+            long last = Math.min(MESSAGE_COUNT, stallAfter);
+
+            if (!failed && failOnceAfter < last) {
+                failed = true;
+                last = failOnceAfter;
+                scheduled.add(executor.schedule(() -> onError.accept(new IllegalStateException("stream reset")),
+                        (last + 1) * MESSAGE_INTERVAL_MILLIS + delayMillis, TimeUnit.MILLISECONDS));
+            }
+
+            for (long sequence = 1; sequence <= last; sequence++) {
+                TopicMessageVo message = new TopicMessageVo(
+                        topicId, sequence, Instant.EPOCH.plusSeconds(sequence), new byte[0], new byte[0], null);
+
+                if (startTime != null && message.consensusTimestamp().isBefore(startTime))
+                    continue;
+
+                scheduled.add(executor.schedule(() -> onMessage.accept(message),
+                        sequence * MESSAGE_INTERVAL_MILLIS + delayMillis, TimeUnit.MILLISECONDS));
+            }
+
+            return () -> scheduled.forEach(future -> future.cancel(false));
+        }
+
+        @Override
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.hedera.consensus.subscription;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SequenceWindowTest {
+
+    @Test
+    void marksEachSequenceOnce() {
+        SequenceWindow window = new SequenceWindow(64);
+
+        Assertions.assertThat(window.markIfFirst(1)).isTrue();
+        Assertions.assertThat(window.markIfFirst(3)).isTrue();
+        Assertions.assertThat(window.markIfFirst(1)).isFalse();
+        Assertions.assertThat(window.markIfFirst(2)).isTrue();
+        Assertions.assertThat(window.markIfFirst(3)).isFalse();
+    }
+
+    @Test
+    void slotsAreReusedAfterWindowSlides() {
+        SequenceWindow window = new SequenceWindow(64);
+
+        for (long sequence = 1; sequence <= 64; sequence++)
+            window.markIfFirst(sequence);
+
+        // 65 는 1 과 같은 slot 을 사용
+        Assertions.assertThat(window.markIfFirst(65)).isTrue();
+        Assertions.assertThat(window.markIfFirst(1)).isFalse();
+        Assertions.assertThat(window.markIfFirst(1_000)).isTrue();
+        Assertions.assertThat(window.markIfFirst(999)).isTrue();
+        Assertions.assertThat(window.markIfFirst(900)).isFalse();
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.hedera.consensus.subscription;
+
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.SubscriptionHandle;
+import com.hedera.hashgraph.sdk.TopicId;
+import com.hedera.hashgraph.sdk.TopicMessageQuery;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 10k 토픽 구독 시 스레드/힙 사용량 비교 - multiplexer 와 토픽마다 SDK {@link TopicMessageQuery} 로 구독하는 기존 방식.
+ * <p>
+ * 단위 테스트에서 제외되며 {@code ./gradlew :consensus:footprintTest} 로 실행합니다.
+ * 측정값은 JUnit report entry 로 기록되어 {@code build/test-results/footprintTest} 의 XML 에서 확인할 수 있습니다.
+ * </p>
+ */
+@Tag("footprint")
+class TopicSubscriptionFootprintTest {
+    private static final int TOPICS = 10_000;
+    private static final int DELIVERY_THREADS = 2;
+    // TopicState 와 구독 콜백, 큐/맵 항목을 합해도 이 크기를 넘지 않아야 함
+    private static final long MAX_MULTIPLEXER_BYTES_PER_TOPIC = 4 * 1024;
+
+    @Test
+    void multiplexerUsesFewerThreadsAndLessHeapThanSdkStreams(TestReporter reporter) throws Exception {
+        Footprint multiplexer = measureMultiplexer();
+        Footprint naive = measureNaiveSdk();
+
+        reporter.publishEntry(Map.of(
+                "topics", String.valueOf(TOPICS),
+                "multiplexer.threads", String.valueOf(multiplexer.threads()),
+                "multiplexer.heapBytesPerTopic", String.valueOf(multiplexer.heapBytes() / TOPICS),
+                "naiveSdk.threads", String.valueOf(naive.threads()),
+                "naiveSdk.heapBytesPerTopic", String.valueOf(naive.heapBytes() / TOPICS)));
+
+        // 토픽 수와 관계없이 dispatch loop 1개 + delivery 스레드만 사용
+        Assertions.assertThat(multiplexer.threads()).isLessThanOrEqualTo(DELIVERY_THREADS + 1);
+        Assertions.assertThat(multiplexer.heapBytes() / TOPICS).isLessThan(MAX_MULTIPLEXER_BYTES_PER_TOPIC);
+        Assertions.assertThat(multiplexer.heapBytes()).isLessThan(naive.heapBytes());
+    }
+
+    private Footprint measureMultiplexer() throws Exception {
+        AtomicLong fetches = new AtomicLong();
+        TopicSubscriptionMultiplexer multiplexer = new TopicSubscriptionMultiplexer(
+                (topicId, after, limit) -> {
+                    fetches.incrementAndGet();
+                    return CompletableFuture.completedFuture(List.of());
+                },
+                new TopicSubscriptionMultiplexer.Settings(100, Duration.ofMillis(10), Duration.ofMillis(200), 256, 64 * 1024,
+                        1_000_000, Duration.ofMinutes(1)),
+                Executors.newFixedThreadPool(DELIVERY_THREADS));
+
+        try {
+            return measure(() -> {
+                for (int i = 0; i < TOPICS; i++)
+                    multiplexer.subscribe("0.0." + (100_000 + i), 0, message -> {
+                    });
+
+                awaitTrue(() -> multiplexer.activeTopicCount() == TOPICS && fetches.get() >= TOPICS);
+            });
+        } finally {
+            multiplexer.close();
+        }
+    }
+
+    // in-process gRPC mirror node stand-in 에 연결하며, stand-in 은 응답 없이 스트림을 열어 둡니다.
+    private Footprint measureNaiveSdk() throws Exception {
+        String serverName = "mirror-stand-in-" + System.nanoTime();
+        AtomicLong openStreams = new AtomicLong();
+
+        Server server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(new ConsensusServiceGrpc.ConsensusServiceImplBase() {
+                    @Override
+                    public void subscribeTopic(ConsensusTopicQuery request,
+                                               StreamObserver<ConsensusTopicResponse> responseObserver) {
+                        openStreams.incrementAndGet();
+                    }
+                })
+                .build()
+                .start();
+
+        Client client = Client.forNetwork(Map.of());
+        List<SubscriptionHandle> handles = new ArrayList<>(TOPICS);
+
+        try {
+            client.setMirrorNetwork(List.of("in-process:" + serverName));
+
+            Footprint footprint = measure(() -> {
+                for (int i = 0; i < TOPICS; i++)
+                    handles.add(new TopicMessageQuery()
+                            .setTopicId(TopicId.fromString("0.0." + (100_000 + i)))
+                            .subscribe(client, message -> {
+                            }));
+
+                awaitTrue(() -> openStreams.get() >= TOPICS);
+            });
+
+            // 모든 스트림이 실제로 열린 상태에서 측정했는지 확인
+            Assertions.assertThat(openStreams.get()).isEqualTo(TOPICS);
+
+            return footprint;
+        } finally {
+            handles.forEach(SubscriptionHandle::unsubscribe);
+            client.close();
+            server.shutdownNow();
+        }
+    }
+
+    // 구독 전후의 스레드 수와, GC 후 안정된 힙 사용량의 차이
+    private static Footprint measure(ThrowingRunnable subscribeAll) throws Exception {
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        long heapBefore = settledHeapUsed();
+
+        subscribeAll.run();
+
+        return new Footprint(
+                ManagementFactory.getThreadMXBean().getThreadCount() - threadsBefore,
+                settledHeapUsed() - heapBefore);
+    }
+
+    // System.gc() 한 번은 전체 수집을 보장하지 않으므로, 사용량이 1% 안으로 수렴할 때까지 반복
+    private static long settledHeapUsed() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long previous = Long.MAX_VALUE;
+
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(100);
+
+            long used = memory.getHeapMemoryUsage().getUsed();
+
+            if (Math.abs(previous - used) < used / 100)
+                return used;
+
+            previous = used;
+        }
+
+        return previous;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline)
+                throw new AssertionError("Condition not met within 30 seconds");
+
+            Thread.sleep(10);
+        }
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    private record Footprint(int threads, long heapBytes) {
+    }
+}
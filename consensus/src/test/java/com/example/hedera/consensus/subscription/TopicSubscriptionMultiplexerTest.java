@@ -0,0 +1,148 @@
+package com.example.hedera.consensus.subscription;
+
+import com.example.hedera.consensus.vo.TopicMessageVo;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+class TopicSubscriptionMultiplexerTest {
+    private static final int DELIVERY_THREADS = 2;
+
+    @Test
+    void deliversAllPagesInOrder() throws InterruptedException {
+        TopicSubscriptionMultiplexer multiplexer = newMultiplexer((topicId, after, limit) -> page(topicId, after, limit, 250));
+        List<Long> received = new CopyOnWriteArrayList<>();
+
+        multiplexer.subscribe("0.0.1001", 0, message -> received.add(message.sequenceNumber()));
+
+        awaitTrue(() -> received.size() == 250);
+        Assertions.assertThat(received).isSorted().doesNotHaveDuplicates();
+
+        multiplexer.close();
+    }
+
+    @Test
+    void stopsTopicAfterLastUnsubscribe() throws InterruptedException {
+        TopicSubscriptionMultiplexer multiplexer = newMultiplexer((topicId, after, limit) -> page(topicId, after, limit, 0));
+
+        TopicSubscription first = multiplexer.subscribe("0.0.1001", 0, message -> {
+        });
+        TopicSubscription second = multiplexer.subscribe("0.0.1001", 0, message -> {
+        });
+        awaitTrue(() -> multiplexer.activeTopicCount() == 1);
+
+        first.unsubscribe();
+        second.unsubscribe();
+        awaitTrue(() -> multiplexer.activeTopicCount() == 0);
+
+        multiplexer.close();
+    }
+
+    @Test
+    void limitsRequestRate() throws InterruptedException {
+        AtomicLong fetches = new AtomicLong();
+        TopicSubscriptionMultiplexer multiplexer = newMultiplexer((topicId, after, limit) -> {
+            fetches.incrementAndGet();
+            return CompletableFuture.completedFuture(List.of());
+        }, 20);
+
+        for (int i = 0; i < 100; i++)
+            multiplexer.subscribe("0.0." + (100_000 + i), 0, message -> {
+            });
+
+        Thread.sleep(500);
+
+        // 0.5초 동안 20 req/s 이면 최대 약 11건
+        Assertions.assertThat(fetches.get()).isBetween(1L, 12L);
+
+        multiplexer.close();
+    }
+
+    /**
+     * 요청 한도가 유휴 토픽 조회로 가득 차도, 메시지가 계속 들어오는 활성 토픽은 minPollInterval 간격으로 조회되어야 합니다.
+     */
+    @Test
+    void pollsActiveTopicsBeforeIdleTopics() throws InterruptedException {
+        AtomicLong activeFetches = new AtomicLong();
+        TopicSubscriptionMultiplexer multiplexer = newMultiplexer((topicId, after, limit) -> {
+            if (!topicId.equals("0.0.1001"))
+                return CompletableFuture.completedFuture(List.of());
+
+            activeFetches.incrementAndGet();
+            return page(topicId, after, 1, Long.MAX_VALUE);
+        }, 200);
+
+        multiplexer.subscribe("0.0.1001", 0, message -> {
+        });
+        for (int i = 0; i < 100; i++)
+            multiplexer.subscribe("0.0." + (100_000 + i), 0, message -> {
+            });
+
+        // 유휴 토픽 100개를 200ms 마다 조회하려면 500 req/s 가 필요하므로 200 req/s 한도는 계속 가득 참
+        Thread.sleep(1000);
+        long before = activeFetches.get();
+        Thread.sleep(1000);
+
+        // 우선 조회하지 않으면 유휴 토픽 한 바퀴(약 0.5초)마다 한 번만 조회됨
+        Assertions.assertThat(activeFetches.get() - before).isGreaterThan(20);
+
+        multiplexer.close();
+    }
+
+    @Test
+    void reportsIdleLagBoundFromTopicCount() throws InterruptedException {
+        TopicSubscriptionMultiplexer multiplexer = newMultiplexer((topicId, after, limit) -> page(topicId, after, limit, 0), 50);
+
+        for (int i = 0; i < 500; i++)
+            multiplexer.subscribe("0.0." + (100_000 + i), 0, message -> {
+            });
+
+        awaitTrue(() -> multiplexer.activeTopicCount() == 500);
+
+        // 500 토픽 / 50 req/s
+        Assertions.assertThat(multiplexer.idleLagBound()).isEqualTo(Duration.ofSeconds(10));
+
+        multiplexer.close();
+    }
+
+    private TopicSubscriptionMultiplexer newMultiplexer(MirrorTopicMessageSource source) {
+        return newMultiplexer(source, 1_000_000);
+    }
+
+    private TopicSubscriptionMultiplexer newMultiplexer(MirrorTopicMessageSource source, double maxRequestsPerSecond) {
+        return new TopicSubscriptionMultiplexer(
+                source,
+                new TopicSubscriptionMultiplexer.Settings(100, Duration.ofMillis(10), Duration.ofMillis(200), 256, 64 * 1024,
+                        maxRequestsPerSecond, Duration.ofMinutes(1)),
+                Executors.newFixedThreadPool(DELIVERY_THREADS));
+    }
+
+    private static CompletableFuture<List<TopicMessageVo>> page(String topicId, long after, int limit, long total) {
+        List<TopicMessageVo> messages = new ArrayList<>();
+
+        for (long sequence = after + 1; sequence <= Math.min(total, after + limit); sequence++)
+            messages.add(new TopicMessageVo(topicId, sequence, Instant.EPOCH.plusSeconds(sequence), new byte[16], new byte[48], null));
+
+        return CompletableFuture.completedFuture(messages);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline)
+                throw new AssertionError("Condition not met within 30 seconds");
+
+            Thread.sleep(10);
+        }
+    }
+}
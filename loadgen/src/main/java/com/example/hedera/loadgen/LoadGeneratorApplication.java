@@ -0,0 +1,22 @@
+package com.example.hedera.loadgen;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * 부하 생성 CLI.
+ * <p>
+ * 실행: {@code ./gradlew :loadgen:bootRun --args='--loadgen.phases=submit --loadgen.submit.rate=50'}
+ */
+@SpringBootApplication(scanBasePackages = {
+        "com.example.hedera.common",
+        "com.example.hedera.consensus.helper",
+        "com.example.hedera.loadgen"
+})
+public class LoadGeneratorApplication {
+
+    public static void main(String[] args) {
+        System.exit(SpringApplication.exit(SpringApplication.run(LoadGeneratorApplication.class, args)));
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.example.hedera.loadgen;
+
+import com.example.hedera.consensus.helper.ConsensusHelper;
+import com.example.hedera.loadgen.config.LoadSettings;
+import com.example.hedera.loadgen.driver.OpenLoopDriver;
+import com.example.hedera.loadgen.driver.PhaseResult;
+import com.example.hedera.loadgen.report.LoadReportWriter;
+import com.hedera.hashgraph.sdk.SubscriptionHandle;
+import com.hedera.hashgraph.sdk.TopicMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 설정된 phase 를 순서대로 실행하고 결과를 저장합니다.
+ * <ul>
+ *      <li>create - 토픽 생성</li>
+ *      <li>submit - 메시지 전송 (영수증 수신까지)</li>
+ *      <li>subscribe - 메시지 전송 후 구독으로 수신하기까지의 지연</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoadGeneratorRunner implements ApplicationRunner {
+    private static final DateTimeFormatter RUN_ID_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final ConsensusHelper consensusHelper;
+    private final LoadSettings settings;
+    private final OpenLoopDriver driver;
+    private final LoadReportWriter reportWriter;
+
+    private final AtomicReference<String> topicId = new AtomicReference<>();
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String runId = RUN_ID_FORMAT.format(Instant.now());
+        List<PhaseResult> results = new ArrayList<>();
+
+        if (settings.topicId() != null && !settings.topicId().isBlank())
+            topicId.set(settings.topicId());
+
+        for (String phase : settings.phases()) {
+            switch (phase.trim()) {
+                case "create" -> results.add(runCreate(runId));
+                case "submit" -> results.add(runSubmit());
+                case "subscribe" -> results.addAll(runSubscribe());
+                default -> throw new IllegalArgumentException("Unknown phase: " + phase);
+            }
+        }
+
+        reportWriter.write(settings.outputDir().resolve(runId), results);
+    }
+
+    private PhaseResult runCreate(String runId) throws InterruptedException {
+        return driver.run("create", settings.create().rate(), settings.create().duration(), (index, intended) -> {
+            String created = consensusHelper.createTopic("loadgen-" + runId + "-" + index).getResult().topicId();
+
+            topicId.compareAndSet(null, created);
+        });
+    }
+
+    private PhaseResult runSubmit() throws Exception {
+        String target = targetTopic();
+        String message = "x".repeat(settings.messageSize());
+
+        return driver.run("submit", settings.submit().rate(), settings.submit().duration(),
+                (index, intended) -> consensusHelper.submitMessage(target, message, null, null));
+    }
+
+    /**
+     * 메시지 본문에 실행 ID 와 예정 전송 시점(nanoTime)을 넣어 전송하고, 같은 JVM 의 구독에서 수신 시점과 비교합니다.
+     * <p>
+     * subscribe 결과의 요청 수는 전송에 성공한 메시지 수이며, 그중 수신하지 못한 메시지를 실패로 셉니다.
+     * 지연은 예정 전송 시점부터 수신까지, 처리 시간은 전송 영수증을 받은 시점부터 수신까지(mirror node 전파 시간)입니다.
+     */
+    private List<PhaseResult> runSubscribe() throws Exception {
+        String target = targetTopic();
+        String marker = UUID.randomUUID() + ":";
+        Histogram delivery = new ConcurrentHistogram(3);
+        Histogram propagation = new ConcurrentHistogram(3);
+        Map<Long, Stamp> stamps = new ConcurrentHashMap<>();
+        AtomicLong delivered = new AtomicLong();
+
+        SubscriptionHandle handle = consensusHelper.getTopicMessages(target, Instant.now(), null,
+                topicMessage -> onDelivered(topicMessage, marker, delivery, propagation, stamps, delivered));
+
+        long start = System.nanoTime();
+        PhaseResult submitted;
+
+        try {
+            submitted = driver.run("subscribe-submit", settings.subscribe().rate(), settings.subscribe().duration(),
+                    (index, intended) -> {
+                        consensusHelper.submitMessage(target, payload(marker, intended), null, null);
+                        pair(stamps, intended, new Stamp(false, System.nanoTime()), propagation);
+                    });
+
+            long expected = submitted.operations() - submitted.errors();
+            long deadline = System.nanoTime() + settings.drainTimeout().toNanos();
+
+            while (delivered.get() < expected && System.nanoTime() < deadline)
+                TimeUnit.MILLISECONDS.sleep(100);
+
+            if (delivered.get() < expected)
+                log.warn("Received {}/{} messages before drain timeout", delivered.get(), expected);
+        } finally {
+            handle.unsubscribe();
+        }
+
+        // 전송에 실패한 메시지는 subscribe-submit 의 실패로 이미 집계되므로 제외
+        // 수신하지 못한 메시지는 지연을 측정할 수 없으므로 실패 지연은 비어 있음
+        long succeeded = submitted.operations() - submitted.errors();
+        PhaseResult subscribe = new PhaseResult("subscribe", succeeded, Math.max(0, succeeded - delivered.get()), 0,
+                System.nanoTime() - start, delivery, propagation, new Histogram(3));
+
+        return List.of(submitted, subscribe);
+    }
+
+    private void onDelivered(TopicMessage topicMessage,
+                             String marker,
+                             Histogram delivery,
+                             Histogram propagation,
+                             Map<Long, Stamp> stamps,
+                             AtomicLong delivered) {
+        long received = System.nanoTime();
+        String contents = new String(topicMessage.contents, StandardCharsets.UTF_8);
+
+        if (!contents.startsWith(marker))
+            return;
+
+        long intended = Long.parseLong(contents.substring(marker.length(), contents.indexOf(':', marker.length())));
+
+        delivery.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(received - intended)));
+        pair(stamps, intended, new Stamp(true, received), propagation);
+        delivered.incrementAndGet();
+    }
+
+    // 영수증 수신과 구독 수신 중 나중에 도착한 쪽이 두 시점의 차이를 기록 - 구독이 먼저 도착하면 0
+    private static void pair(Map<Long, Stamp> stamps, long intended, Stamp stamp, Histogram propagation) {
+        stamps.merge(intended, stamp, (first, second) -> {
+            Stamp acknowledged = first.delivered() ? second : first;
+            Stamp received = first.delivered() ? first : second;
+
+            propagation.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(received.nanos() - acknowledged.nanos())));
+            return null;
+        });
+    }
+
+    /**
+     * @param delivered 구독 수신 시점이면 true, 전송 영수증 수신 시점이면 false
+     * @param nanos     {@link System#nanoTime()}
+     */
+    private record Stamp(boolean delivered, long nanos) {
+    }
+
+    private String payload(String marker, long intendedNanos) {
+        String header = marker + intendedNanos + ":";
+
+        return header + "x".repeat(Math.max(0, settings.messageSize() - header.length()));
+    }
+
+    private String targetTopic() throws Exception {
+        if (topicId.get() == null)
+            topicId.compareAndSet(null, consensusHelper.createTopic("loadgen").getResult().topicId());
+
+        return topicId.get();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.hedera.loadgen.config;
+
+import com.example.hedera.loadgen.driver.OpenLoopDriver;
+import com.example.hedera.loadgen.report.LoadReportWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration(proxyBeanMethods = false)
+public class LoadGeneratorConfig {
+
+    @Bean
+    public LoadSettings loadSettings(@Value("${loadgen.phases:create,submit,subscribe}") List<String> phases,
+                                     @Value("${loadgen.output-dir:loadgen-results}") String outputDir,
+                                     @Value("${loadgen.worker-threads:0}") int workerThreads,
+                                     @Value("${loadgen.expected-latency:5s}") Duration expectedLatency,
+                                     @Value("${loadgen.topic-id:}") String topicId,
+                                     @Value("${loadgen.submit.message-size:256}") int messageSize,
+                                     @Value("${loadgen.create.rate:1}") double createRate,
+                                     @Value("${loadgen.create.duration:10s}") Duration createDuration,
+                                     @Value("${loadgen.submit.rate:20}") double submitRate,
+                                     @Value("${loadgen.submit.duration:60s}") Duration submitDuration,
+                                     @Value("${loadgen.subscribe.rate:10}") double subscribeRate,
+                                     @Value("${loadgen.subscribe.duration:60s}") Duration subscribeDuration,
+                                     @Value("${loadgen.subscribe.drain-timeout:30s}") Duration drainTimeout) {
+        double maxRate = Math.max(createRate, Math.max(submitRate, subscribeRate));
+
+        // 지정하지 않으면 가장 높은 요청률과 예상 지연으로 계산
+        return new LoadSettings(
+                phases,
+                Path.of(outputDir),
+                workerThreads > 0 ? workerThreads : LoadSettings.requiredWorkers(maxRate, expectedLatency),
+                topicId,
+                messageSize,
+                new LoadSettings.Phase(createRate, createDuration),
+                new LoadSettings.Phase(submitRate, submitDuration),
+                new LoadSettings.Phase(subscribeRate, subscribeDuration),
+                drainTimeout);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService loadWorkers(LoadSettings loadSettings) {
+        return Executors.newFixedThreadPool(loadSettings.workerThreads());
+    }
+
+    @Bean
+    public OpenLoopDriver openLoopDriver(ExecutorService loadWorkers, LoadSettings loadSettings) {
+        return new OpenLoopDriver(loadWorkers, loadSettings.workerThreads());
+    }
+
+    @Bean
+    public LoadReportWriter loadReportWriter() {
+        return new LoadReportWriter();
+    }
+}
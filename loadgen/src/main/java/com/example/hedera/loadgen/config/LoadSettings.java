@@ -0,0 +1,47 @@
+package com.example.hedera.loadgen.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 부하 생성 설정.
+ *
+ * @param phases        실행할 phase 목록 (create, submit, subscribe)
+ * @param outputDir     결과 저장 디렉터리 - 실행마다 하위 디렉터리가 생성됩니다.
+ * @param workerThreads 동시에 실행할 수 있는 최대 요청 수 - 가장 높은 요청률 × 예상 지연보다 커야 합니다.
+ * @param topicId       submit/subscribe 대상 토픽 (비어 있으면 생성한 토픽 사용)
+ * @param messageSize   메시지 크기(byte)
+ * @param create        토픽 생성 phase
+ * @param submit        메시지 전송 phase
+ * @param subscribe     전송-수신 phase
+ * @param drainTimeout  subscribe phase 종료 후 남은 메시지 수신 대기 시간
+ */
+public record LoadSettings(List<String> phases,
+                           Path outputDir,
+                           int workerThreads,
+                           String topicId,
+                           int messageSize,
+                           Phase create,
+                           Phase submit,
+                           Phase subscribe,
+                           Duration drainTimeout) {
+
+    /**
+     * @param rate     초당 요청 수 (open-loop)
+     * @param duration 실행 시간
+     */
+    public record Phase(double rate, Duration duration) {
+    }
+
+    /**
+     * 요청률과 예상 지연으로 필요한 worker 수를 계산합니다. (Little's law: 동시 요청 수 = 요청률 × 지연)
+     *
+     * @param ratePerSecond   초당 요청 수
+     * @param expectedLatency 요청 1건의 예상 지연
+     * @return 지연이 두 배까지 늘어나도 대기하지 않는 worker 수
+     */
+    public static int requiredWorkers(double ratePerSecond, Duration expectedLatency) {
+        return (int) Math.max(1, Math.ceil(ratePerSecond * expectedLatency.toNanos() / 1e9 * 2));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.hedera.loadgen.driver;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * open-loop 부하 생성기.
+ * <p>
+ * 요청은 응답과 관계없이 고정된 간격의 예정 시점에 발행됩니다. 지연은 예정 시점부터 측정하므로,
+ * 시스템이 느려져 요청이 worker 큐에서 대기한 시간도 포함됩니다(coordinated omission 보정).
+ * 실패한 요청(timeout 포함)의 지연은 성공 지연과 섞이지 않도록 별도 히스토그램에 같은 기준으로 기록합니다.
+ * <p>
+ * 요청은 worker 스레드에서 block 되므로, 진행 중인 요청이 workerThreads 를 넘으면 이후 요청은 worker 큐에서 대기합니다.
+ * 이 대기는 측정 대상 시스템이 아니라 부하 생성기의 한계이므로, 대기한 요청 수를 결과에 기록하고 경고합니다.
+ * workerThreads 는 초당 요청 수 × 예상 지연 이상이어야 합니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OpenLoopDriver {
+    private final ExecutorService workers;
+    private final int workerThreads;
+
+    /**
+     * @param phase         phase 이름
+     * @param ratePerSecond 초당 요청 수
+     * @param duration      실행 시간
+     * @param operation     요청
+     * @return PhaseResult
+     * @throws InterruptedException InterruptedException
+     */
+    public PhaseResult run(@NonNull String phase,
+                           double ratePerSecond,
+                           @NonNull Duration duration,
+                           @NonNull Operation operation) throws InterruptedException {
+        if (ratePerSecond <= 0)
+            throw new IllegalArgumentException("ratePerSecond must be positive");
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        int count = (int) Math.max(1, Math.min(Integer.MAX_VALUE, duration.toNanos() / intervalNanos));
+
+        Histogram latency = new ConcurrentHistogram(3);
+        Histogram serviceTime = new ConcurrentHistogram(3);
+        Histogram errorLatency = new ConcurrentHistogram(3);
+        AtomicLong errors = new AtomicLong();
+        AtomicInteger inFlight = new AtomicInteger();
+        long queued = 0;
+        CountDownLatch done = new CountDownLatch(count);
+
+        log.info("Starting phase {}: {} requests at {}/s with {} workers", phase, count, ratePerSecond, workerThreads);
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < count; i++) {
+            long index = i;
+            long intended = start + i * intervalNanos;
+
+            parkUntil(intended);
+
+            if (inFlight.incrementAndGet() > workerThreads && queued++ == 0)
+                log.warn("Worker pool saturated in phase {}: {} requests in flight with {} workers, "
+                        + "latency now includes load generator queueing. Increase loadgen.worker-threads", phase, inFlight.get(), workerThreads);
+
+            workers.execute(() -> {
+                long actual = System.nanoTime();
+
+                try {
+                    operation.execute(index, intended);
+
+                    long end = System.nanoTime();
+                    latency.recordValue(TimeUnit.NANOSECONDS.toMicros(end - intended));
+                    serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(end - actual));
+                } catch (Exception e) {
+                    errorLatency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+
+                    if (errors.incrementAndGet() <= 10)
+                        log.warn("Request {} of phase {} failed: {}", index, phase, e.toString());
+                } finally {
+                    inFlight.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+
+        done.await();
+
+        if (queued > 0)
+            log.warn("{}/{} requests of phase {} waited for a free worker, results are not valid for the target rate",
+                    queued, count, phase);
+
+        return new PhaseResult(phase, count, errors.get(), queued, System.nanoTime() - start, latency, serviceTime, errorLatency);
+    }
+
+    private static void parkUntil(long deadlineNanos) throws InterruptedException {
+        long remaining;
+
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+
+            if (Thread.interrupted())
+                throw new InterruptedException();
+        }
+    }
+
+    /**
+     * 부하 요청.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * @param index         요청 순번
+         * @param intendedNanos 예정 시작 시점 ({@link System#nanoTime()} 기준)
+         * @throws Exception 요청 실패
+         */
+        void execute(long index, long intendedNanos) throws Exception;
+    }
+}
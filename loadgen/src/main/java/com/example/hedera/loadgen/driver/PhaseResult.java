@@ -0,0 +1,32 @@
+package com.example.hedera.loadgen.driver;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * phase 실행 결과. 히스토그램 값의 단위는 마이크로초입니다.
+ *
+ * @param phase        phase 이름
+ * @param operations   요청 수
+ * @param errors       실패한 요청 수
+ * @param queued       worker 가 모두 사용 중이어서 부하 생성기 안에서 대기한 요청 수 - 0 이 아니면 목표 요청률을 만들지 못한 것입니다.
+ * @param elapsedNanos 실행 시간
+ * @param latency      예정 시작 시점 기준 지연 (coordinated omission 보정)
+ * @param serviceTime  실제 시작 시점 기준 처리 시간
+ * @param errorLatency 실패한 요청의 예정 시작 시점 기준 지연 (timeout 포함)
+ */
+public record PhaseResult(String phase,
+                          long operations,
+                          long errors,
+                          long queued,
+                          long elapsedNanos,
+                          Histogram latency,
+                          Histogram serviceTime,
+                          Histogram errorLatency) {
+
+    /**
+     * @return 초당 성공 요청 수
+     */
+    public double throughput() {
+        return elapsedNanos == 0 ? 0 : (operations - errors) * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.hedera.loadgen.report;
+
+import com.example.hedera.loadgen.driver.PhaseResult;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * phase 결과를 파일로 저장합니다.
+ * <ul>
+ *      <li>{@code <phase>.hgrm} - percentile 분포 (밀리초)</li>
+ *      <li>{@code <phase>.hlog} - HdrHistogram 로그 (HistogramLogAnalyzer 등으로 실행 간 비교)</li>
+ *      <li>{@code summary.csv} - phase 별 처리량 및 주요 percentile (밀리초), 실패한 요청의 지연과 부하 생성기에서 대기한 요청 수 포함</li>
+ * </ul>
+ */
+@Slf4j
+public class LoadReportWriter {
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String SUMMARY_HEADER = "phase,operations,errors,queued,elapsed_s,throughput_per_s,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms,service_p99_ms,error_p99_ms,error_max_ms";
+
+    public void write(@NonNull Path directory, @NonNull List<PhaseResult> results) throws IOException {
+        Files.createDirectories(directory);
+
+        StringBuilder summary = new StringBuilder(SUMMARY_HEADER).append('\n');
+
+        for (PhaseResult result : results) {
+            writeDistribution(directory.resolve(result.phase() + ".hgrm"), result.latency());
+            writeLog(directory.resolve(result.phase() + ".hlog"), result);
+
+            String row = summaryRow(result);
+            summary.append(row).append('\n');
+
+            log.info("{}", row);
+        }
+
+        Files.writeString(directory.resolve("summary.csv"), summary, StandardCharsets.UTF_8);
+
+        log.info("Load test results written to {}", directory.toAbsolutePath());
+    }
+
+    private void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private void writeLog(Path file, PhaseResult result) throws IOException {
+        long endMillis = System.currentTimeMillis();
+        long startMillis = endMillis - result.elapsedNanos() / 1_000_000;
+
+        Histogram latency = result.latency();
+        latency.setStartTimeStamp(startMillis);
+        latency.setEndTimeStamp(endMillis);
+        latency.setTag(result.phase());
+
+        HistogramLogWriter writer = new HistogramLogWriter(file.toFile());
+
+        try {
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startMillis);
+            writer.outputLegend();
+            writer.outputIntervalHistogram(latency);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private String summaryRow(PhaseResult result) {
+        Histogram latency = result.latency();
+
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%.3f,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                result.phase(),
+                result.operations(),
+                result.errors(),
+                result.queued(),
+                result.elapsedNanos() / 1e9,
+                result.throughput(),
+                millis(latency.getValueAtPercentile(50)),
+                millis(latency.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99)),
+                millis(latency.getValueAtPercentile(99.9)),
+                millis(latency.getMaxValue()),
+                millis(result.serviceTime().getValueAtPercentile(99)),
+                millis(result.errorLatency().getValueAtPercentile(99)),
+                millis(result.errorLatency().getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
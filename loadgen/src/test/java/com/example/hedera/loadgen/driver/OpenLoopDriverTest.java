@@ -0,0 +1,69 @@
+package com.example.hedera.loadgen.driver;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+class OpenLoopDriverTest {
+
+    @Test
+    void issuesRequestsAtConfiguredRate() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        OpenLoopDriver driver = new OpenLoopDriver(workers, 4);
+
+        PhaseResult result = driver.run("noop", 100, Duration.ofMillis(500), (index, intended) -> {
+        });
+
+        Assertions.assertThat(result.operations()).isEqualTo(50);
+        Assertions.assertThat(result.errors()).isZero();
+        Assertions.assertThat(result.latency().getTotalCount()).isEqualTo(50);
+        Assertions.assertThat(result.errorLatency().getTotalCount()).isZero();
+        Assertions.assertThat(result.queued()).isZero();
+
+        workers.shutdown();
+    }
+
+    /**
+     * worker 가 하나뿐이고 요청이 간격보다 오래 걸리면, 큐에서 대기한 시간까지 지연에 포함되어야 합니다.
+     */
+    @Test
+    void latencyIncludesQueueingDelay() throws InterruptedException {
+        ExecutorService workers = Executors.newSingleThreadExecutor();
+        OpenLoopDriver driver = new OpenLoopDriver(workers, 1);
+
+        PhaseResult result = driver.run("slow", 100, Duration.ofMillis(200),
+                (index, intended) -> TimeUnit.MILLISECONDS.sleep(50));
+
+        Assertions.assertThat(result.serviceTime().getMaxValue()).isLessThan(TimeUnit.MILLISECONDS.toMicros(100));
+        Assertions.assertThat(result.latency().getMaxValue()).isGreaterThan(TimeUnit.MILLISECONDS.toMicros(500));
+        // worker 부족으로 대기한 요청은 결과에 드러나야 함
+        Assertions.assertThat(result.queued()).isPositive();
+
+        workers.shutdown();
+    }
+
+    @Test
+    void recordsLatencyOfFailedRequestsSeparately() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        OpenLoopDriver driver = new OpenLoopDriver(workers, 4);
+
+        PhaseResult result = driver.run("timeout", 100, Duration.ofMillis(200), (index, intended) -> {
+            if (index % 2 == 0) {
+                TimeUnit.MILLISECONDS.sleep(30);
+                throw new TimeoutException("request timed out");
+            }
+        });
+
+        Assertions.assertThat(result.errors()).isEqualTo(10);
+        Assertions.assertThat(result.errorLatency().getTotalCount()).isEqualTo(10);
+        Assertions.assertThat(result.errorLatency().getMinValue()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toMicros(30));
+        Assertions.assertThat(result.latency().getTotalCount()).isEqualTo(10);
+
+        workers.shutdown();
+    }
+}